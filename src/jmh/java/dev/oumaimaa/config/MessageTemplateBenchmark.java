@@ -0,0 +1,91 @@
+package dev.oumaimaa.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a precompiled message template with reparsing the message
+ *
+ * <p>The reparse benchmark reproduces how messages were rendered before
+ * templates: the cached component is serialized back to MiniMessage, the
+ * placeholders are replaced in the string and the result is parsed again.
+ * Run with {@code mvn -P jmh verify}.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            "unread-mail-notification",
+            "<gradient:#FF69B4:#FFB6C1>✉</gradient> <yellow>You have <aqua>{count}</aqua> unread message(s)!",
+            "player-not-found",
+            "<red>Player <yellow>{player}</yellow> not found!");
+
+    private static final Map<String, String[]> PLACEHOLDERS = Map.of(
+            "unread-mail-notification", new String[]{"{count}", "3"},
+            "player-not-found", new String[]{"{player}", "Steve"});
+
+    @Param({"unread-mail-notification", "player-not-found"})
+    private String key;
+
+    private MiniMessage miniMessage;
+    private Component cached;
+    private MessageTemplate template;
+    private String[] placeholders;
+
+    /**
+     * Parses the message the way both approaches cache it
+     */
+    @Setup
+    public void setup() {
+        miniMessage = MiniMessage.miniMessage();
+        cached = miniMessage.deserialize(MESSAGES.get(key));
+        template = MessageTemplate.compile(miniMessage, MESSAGES.get(key));
+        placeholders = PLACEHOLDERS.get(key);
+    }
+
+    /**
+     * Renders the message from its precompiled template
+     *
+     * @return the rendered message
+     */
+    @Benchmark
+    public Component template() {
+        return template.render(placeholders);
+    }
+
+    /**
+     * Renders the message by serializing, substituting and parsing it again
+     *
+     * @return the rendered message
+     */
+    @Benchmark
+    public Component reparse() {
+        String serialized = miniMessage.serialize(cached);
+        for (int i = 0; i < placeholders.length; i += 2) {
+            serialized = serialized.replace(placeholders[i], placeholders[i + 1]);
+        }
+        return miniMessage.deserialize(serialized);
+    }
+}
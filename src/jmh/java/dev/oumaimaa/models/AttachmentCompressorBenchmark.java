@@ -0,0 +1,98 @@
+package dev.oumaimaa.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures the cost of reading a stored attachment back to NBT
+ *
+ * <p>Each read restores the stored bytes with the compressor and then
+ * decompresses the gzip stream the way {@code ItemStack#deserializeBytes}
+ * does. The {@code none} storage is the baseline: attachments stored exactly
+ * as Paper serializes them. Run with {@code mvn -P jmh verify}.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttachmentCompressorBenchmark {
+
+    private static final byte[] NBT = ("{id:\"minecraft:diamond_sword\",count:1,components:{enchantments:"
+            + "{levels:{sharpness:5,unbreaking:3,mending:1}},custom_name:'\"Kawaii Blade\"',"
+            + "lore:['\"Sent with love\"','\"From the mailbox\"']}}")
+            .repeat(8).getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] DICTIONARY = ("components:{enchantments:{levels:{sharpness:5,unbreaking:3,"
+            + "mending:1}},custom_name:lore:minecraft:diamond_sword").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"none", "deflate", "dictionary"})
+    private String storage;
+
+    private AttachmentCompressor compressor;
+    private byte[] stored;
+
+    /**
+     * Stores the sample item with the benchmarked compression
+     *
+     * @throws IOException if compression fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        AttachmentCompressor.Mode mode = AttachmentCompressor.Mode.valueOf(storage.toUpperCase(Locale.ROOT));
+        compressor = new AttachmentCompressor(mode, Map.of(), DICTIONARY, id -> null);
+        stored = compressor.compress(gzip(NBT));
+    }
+
+    /**
+     * Reads the stored item back to NBT
+     *
+     * @return the NBT
+     * @throws IOException if the stored bytes are corrupted
+     */
+    @Benchmark
+    public byte[] read() throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressor.decompress(stored)))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Compresses data with gzip, as Paper does for serialized items
+     *
+     * @param data the data to compress
+     * @return the gzip data
+     * @throws IOException if compression fails
+     */
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
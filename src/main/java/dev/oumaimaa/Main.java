@@ -3,8 +3,13 @@ package dev.oumaimaa;
 import dev.oumaimaa.commands.MailCommand;
 import dev.oumaimaa.config.ConfigManager;
 import dev.oumaimaa.database.MongoDBManager;
+import dev.oumaimaa.gui.MailIconCache;
+import dev.oumaimaa.listeners.GuiListener;
 import dev.oumaimaa.listeners.PlayerConnectionListener;
 import dev.oumaimaa.managers.MailboxManager;
+import dev.oumaimaa.scheduler.MailboxScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Objects;
@@ -24,6 +29,8 @@ public final class Main extends JavaPlugin {
     private MongoDBManager mongoDBManager;
     private ConfigManager configManager;
     private MailboxManager mailboxManager;
+    private MailIconCache mailIconCache;
+    private MailboxScheduler mailboxScheduler;
 
     /**
      * Retrieves the singleton instance of the plugin
@@ -47,6 +54,10 @@ public final class Main extends JavaPlugin {
             return;
         }
 
+        mailboxScheduler = MailboxScheduler.create(this,
+                configManager.getInt("scheduler.main-thread-budget-ms", 5),
+                configManager.getInt("scheduler.backlog-warning-threshold", 500));
+
         if (!initializeMongoDB()) {
             getLogger().severe("Failed to connect to MongoDB. Disabling plugin.");
             getServer().getPluginManager().disablePlugin(this);
@@ -65,6 +76,15 @@ public final class Main extends JavaPlugin {
     public void onDisable() {
         getLogger().info("Disabling KawaiiMailbox...");
 
+        if (mailboxManager != null) {
+            mailboxManager.shutdown();
+            getLogger().info("Mailbox operations completed.");
+        }
+
+        if (mailboxScheduler != null) {
+            mailboxScheduler.shutdown();
+        }
+
         if (mongoDBManager != null) {
             mongoDBManager.close();
             getLogger().info("MongoDB connection closed.");
@@ -118,7 +138,25 @@ public final class Main extends JavaPlugin {
      */
     private void initializeManagers() {
         mailboxManager = new MailboxManager(this);
+        mailIconCache = new MailIconCache(configManager.getInt("inbox.icon-cache-size", 1024));
         getLogger().info("Managers initialized successfully.");
+
+        mailboxManager.initializeAttachmentCompression();
+        mailboxManager.startUnreadFilter();
+        mailboxManager.startInboxCacheSweep();
+
+        // Players already online after a reload never fire a join event
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            mailboxManager.warmInbox(player.getUniqueId());
+        }
+
+        if (configManager.getBoolean("database.migrate-legacy-attachments", true)) {
+            mailboxManager.migrateLegacyAttachments().thenAccept(migrated -> {
+                if (migrated > 0) {
+                    getLogger().info("Migrated " + migrated + " mail(s) to binary attachments.");
+                }
+            });
+        }
     }
 
     /**
@@ -136,6 +174,7 @@ public final class Main extends JavaPlugin {
      */
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(new PlayerConnectionListener(this), this);
+        getServer().getPluginManager().registerEvents(new GuiListener(), this);
         getLogger().info("Listeners registered successfully.");
     }
 
@@ -165,4 +204,22 @@ public final class Main extends JavaPlugin {
     public MailboxManager getMailboxManager() {
         return mailboxManager;
     }
+
+    /**
+     * Retrieves the scheduler for work that must run on a server thread
+     *
+     * @return the mailbox scheduler
+     */
+    public MailboxScheduler getMailboxScheduler() {
+        return mailboxScheduler;
+    }
+
+    /**
+     * Retrieves the mail icon cache instance
+     *
+     * @return the mail icon cache
+     */
+    public MailIconCache getMailIconCache() {
+        return mailIconCache;
+    }
 }
\ No newline at end of file
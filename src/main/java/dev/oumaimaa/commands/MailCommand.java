@@ -81,7 +81,7 @@ public class MailCommand implements TabExecutor {
         String message = String.join(" ", List.of(args).subList(2, args.length));
 
         // Validate message length
-        int maxLength = plugin.getConfigManager().getInt("mail.max-message-length", 500);
+        int maxLength = plugin.getConfigManager().getSnapshot().mail().maxMessageLength();
         if (message.length() > maxLength) {
             sender.sendMessage(plugin.getConfigManager().getMessage("message-too-long",
                     "{max}", String.valueOf(maxLength)));
@@ -130,7 +130,7 @@ public class MailCommand implements TabExecutor {
         sender.sendMessage(addItemsComponent);
 
         // Auto-send after delay if no items added
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getMailboxScheduler().runLater(sender, () -> {
             if (pendingMails.containsKey(sender.getUniqueId())) {
                 sendPendingMail(sender);
             }
@@ -172,25 +172,21 @@ public class MailCommand implements TabExecutor {
                 pending.recipientName,
                 pending.message,
                 pending.items
-        ).thenAccept(mail -> {
+        ).thenAcceptAsync(mail -> {
             if (mail != null) {
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    player.sendMessage(plugin.getConfigManager().getMessage("mail-sent",
-                            "{player}", pending.recipientName));
-
-                    // Notify recipient if online
-                    Player recipient = Bukkit.getPlayer(pending.recipientUUID);
-                    if (recipient != null) {
-                        recipient.sendMessage(plugin.getConfigManager().getMessage("new-mail-notification",
-                                "{sender}", pending.senderName));
-                    }
-                });
+                player.sendMessage(plugin.getConfigManager().getMessage("mail-sent",
+                        "{player}", pending.recipientName));
+
+                // Notify recipient if online
+                Player recipient = Bukkit.getPlayer(pending.recipientUUID);
+                if (recipient != null) {
+                    recipient.sendMessage(plugin.getConfigManager().getMessage("new-mail-notification",
+                            "{sender}", pending.senderName));
+                }
             } else {
-                Bukkit.getScheduler().runTask(plugin, () ->
-                        player.sendMessage(plugin.getConfigManager().getMessage("mail-send-failed"))
-                );
+                player.sendMessage(plugin.getConfigManager().getMessage("mail-send-failed"));
             }
-        });
+        }, plugin.getMailboxScheduler().forPlayer(player.getUniqueId()));
     }
 
     /**
@@ -199,7 +195,7 @@ public class MailCommand implements TabExecutor {
      * @param player the command sender
      */
     private void handleInbox(Player player) {
-        new InboxGUI(plugin, player, 0).open();
+        new InboxGUI(plugin, player).open();
     }
 
     /**
@@ -209,14 +205,14 @@ public class MailCommand implements TabExecutor {
      */
     private void handleClear(@NotNull Player player) {
         plugin.getMailboxManager().deleteReadMail(player.getUniqueId())
-                .thenAccept(count -> Bukkit.getScheduler().runTask(plugin, () -> {
+                .thenAcceptAsync(count -> {
                     if (count > 0) {
                         player.sendMessage(plugin.getConfigManager().getMessage("mail-cleared",
                                 "{count}", String.valueOf(count)));
                     } else {
                         player.sendMessage(plugin.getConfigManager().getMessage("no-mail-to-clear"));
                     }
-                }));
+                }, plugin.getMailboxScheduler().forPlayer(player.getUniqueId()));
     }
 
     /**
@@ -0,0 +1,139 @@
+package dev.oumaimaa.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Bounded executor for blocking mailbox database operations
+ *
+ * <p>Each operation runs on its own virtual thread, so blocking driver calls
+ * never occupy the shared common pool. A semaphore caps how many operations
+ * talk to MongoDB at once, and a pending limit rejects new work instead of
+ * letting the backlog grow without bound while the database is slow.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class MailboxExecutor implements Executor {
+
+    private final Logger logger;
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final AtomicInteger pending;
+    private final int maxConcurrency;
+    private final int maxPending;
+
+    /**
+     * Constructs a new mailbox executor
+     *
+     * @param logger the logger used to report shutdown problems
+     * @param maxConcurrency the maximum number of operations running at once
+     * @param maxPending the maximum number of operations waiting or running
+     */
+    public MailboxExecutor(@NotNull Logger logger, int maxConcurrency, int maxPending) {
+        this.logger = logger;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxPending = Math.max(this.maxConcurrency, maxPending);
+        this.permits = new Semaphore(this.maxConcurrency, true);
+        this.pending = new AtomicInteger();
+        this.delegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("KawaiiMailbox-io-", 0).factory());
+    }
+
+    /**
+     * Submits an operation for execution
+     *
+     * @param task the operation to run
+     * @throws RejectedExecutionException if too many operations are pending or the executor is shut down
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("Too many pending mailbox operations (" + maxPending + ")");
+        }
+
+        try {
+            delegate.execute(() -> runWithPermit(task));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an operation once a concurrency permit is available
+     *
+     * <p>If the thread is interrupted while waiting, which only happens when
+     * the executor is forced to shut down, the operation still runs with the
+     * interrupt flag set. Its blocking calls then fail fast and it completes
+     * with its fallback, so nothing waiting on it is left hanging.</p>
+     *
+     * @param task the operation to run
+     */
+    private void runWithPermit(@NotNull Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            try {
+                task.run();
+            } finally {
+                pending.decrementAndGet();
+            }
+            return;
+        }
+
+        try {
+            task.run();
+        } finally {
+            permits.release();
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Retrieves the number of operations currently waiting or running
+     *
+     * @return the pending operation count
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Retrieves the number of operations waiting for a concurrency permit
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return Math.max(0, pending.get() - (maxConcurrency - permits.availablePermits()));
+    }
+
+    /**
+     * Stops accepting operations and waits for running ones to finish
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     */
+    public void shutdown(long timeout, @NotNull TimeUnit unit) {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(timeout, unit)) {
+                logger.warning("Interrupting " + pending.get() + " mailbox operation(s) still running at shutdown");
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delegate.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package dev.oumaimaa.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Serial operation lanes keyed by player
+ *
+ * <p>Operations submitted for the same player run one after another in
+ * submission order, each starting once the previous one has completed.
+ * Operations for different players never wait for each other and run in
+ * parallel on the underlying executor. Each lane is just the future of its
+ * last operation, swapped in atomically, so no lock is shared between
+ * players, and a lane disappears as soon as it has nothing left to run.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class PlayerLanes {
+
+    private final Executor executor;
+    private final Map<UUID, CompletableFuture<?>> tails;
+
+    /**
+     * Constructs new player lanes
+     *
+     * @param executor the executor running the operations
+     */
+    public PlayerLanes(@NotNull Executor executor) {
+        this.executor = executor;
+        this.tails = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Runs an operation on the executor once the player's previous operations have completed
+     *
+     * <p>If the executor rejects the operation, the returned future completes
+     * exceptionally with the rejection.</p>
+     *
+     * @param player the UUID of the player the operation is for
+     * @param task the operation to run
+     * @param <T> the result type
+     * @return a CompletableFuture containing the operation result
+     */
+    public <T> @NotNull CompletableFuture<T> supply(@NotNull UUID player, @NotNull Supplier<T> task) {
+        return compose(player, () -> CompletableFuture.supplyAsync(task, executor));
+    }
+
+    /**
+     * Starts an asynchronous operation once the player's previous operations have completed
+     *
+     * <p>The player's next operation waits until the future returned by this
+     * one completes.</p>
+     *
+     * @param player the UUID of the player the operation is for
+     * @param task the operation to start
+     * @param <T> the result type
+     * @return a CompletableFuture completing with the operation's future
+     */
+    public <T> @NotNull CompletableFuture<T> compose(@NotNull UUID player,
+                                                     @NotNull Supplier<? extends CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<?> previous = tails.put(player, result);
+        if (previous == null) {
+            start(task, result);
+        } else {
+            previous.whenComplete((ignored, error) -> start(task, result));
+        }
+
+        result.whenComplete((ignored, error) -> tails.remove(player, result));
+        return result;
+    }
+
+    /**
+     * Checks if a player has no operations queued or running
+     *
+     * @param player the player's UUID
+     * @return true if the player's lane is empty
+     */
+    public boolean isIdle(@NotNull UUID player) {
+        return !tails.containsKey(player);
+    }
+
+    /**
+     * Retrieves the number of players with operations queued or running
+     *
+     * @return the number of active lanes
+     */
+    public int getActiveLanes() {
+        return tails.size();
+    }
+
+    /**
+     * Starts an operation and forwards its outcome to the lane's future
+     *
+     * @param task the operation to start
+     * @param result the future of the operation in the lane
+     * @param <T> the result type
+     */
+    private static <T> void start(@NotNull Supplier<? extends CompletableFuture<T>> task,
+                                  @NotNull CompletableFuture<T> result) {
+        try {
+            task.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.oumaimaa.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical asynchronous reads while they are in flight
+ *
+ * <p>The first request for a key starts the read, and every request for the
+ * same key made before it completes shares its result instead of starting
+ * another one. Once the read completes the key is forgotten, so the next
+ * request reads fresh data. Callers receive their own copy of the shared
+ * future, so completing or cancelling it does not affect the others.</p>
+ *
+ * @param <K> the key type, which must implement equals and hashCode
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class SingleFlight<K> {
+
+    private final Map<K, CompletableFuture<?>> inFlight;
+
+    /**
+     * Constructs a new, empty single-flight group
+     */
+    public SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Joins the read in flight for a key, or starts it if there is none
+     *
+     * @param key the key identifying the read
+     * @param read the read to start if none is in flight, must produce results of type T for this key
+     * @param <T> the result type
+     * @return a CompletableFuture containing the shared result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @NotNull CompletableFuture<T> share(@NotNull K key, @NotNull Supplier<CompletableFuture<T>> read) {
+        CompletableFuture<?> existing = inFlight.get(key);
+        if (existing != null) {
+            return ((CompletableFuture<T>) existing).copy();
+        }
+
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            return ((CompletableFuture<T>) existing).copy();
+        }
+
+        shared.whenComplete((ignored, error) -> inFlight.remove(key, shared));
+        try {
+            read.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    shared.completeExceptionally(error);
+                } else {
+                    shared.complete(value);
+                }
+            });
+        } catch (Throwable t) {
+            shared.completeExceptionally(t);
+        }
+        return shared.copy();
+    }
+
+    /**
+     * Stops sharing the reads in flight whose keys match, so later requests start new ones
+     *
+     * <p>Callers already sharing those reads still receive their results.</p>
+     *
+     * @param filter the keys to forget
+     */
+    public void forget(@NotNull Predicate<? super K> filter) {
+        inFlight.keySet().removeIf(filter);
+    }
+
+    /**
+     * Retrieves the number of reads in flight
+     *
+     * @return the number of keys being read
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
@@ -20,7 +20,9 @@ import java.util.Objects;
  * Manages all configuration files for the plugin
  *
  * <p>This class handles loading, reloading, and accessing configuration values
- * from config.yml, messages.yml, and gui.yml files.</p>
+ * from config.yml, messages.yml, and gui.yml files. Frequently read values are
+ * exposed through an immutable {@link ConfigSnapshot} that is replaced as a
+ * whole on reload.</p>
  *
  * @author oumaimaa
  * @version 1.0.0
@@ -34,7 +36,9 @@ public class ConfigManager {
     private FileConfiguration messages;
     private FileConfiguration guiConfig;
 
-    private final Map<String, Component> messageCache;
+    private volatile Map<String, MessageTemplate> messageCache;
+    private volatile ConfigSnapshot snapshot;
+    private long snapshotVersion;
 
     /**
      * Constructs a new configuration manager
@@ -44,13 +48,13 @@ public class ConfigManager {
     public ConfigManager(Main plugin) {
         this.plugin = plugin;
         this.miniMessage = MiniMessage.miniMessage();
-        this.messageCache = new HashMap<>();
+        this.messageCache = Map.of();
     }
 
     /**
      * Loads all configuration files and creates defaults if they don't exist
      */
-    public void loadConfigurations() {
+    public synchronized void loadConfigurations() {
         // Load config.yml
         saveDefaultConfig("config.yml");
         config = loadConfig("config.yml");
@@ -65,6 +69,7 @@ public class ConfigManager {
 
         // Cache messages for performance
         cacheMessages();
+        buildSnapshot();
 
         plugin.getLogger().info("All configuration files loaded successfully");
     }
@@ -103,45 +108,58 @@ public class ConfigManager {
     }
 
     /**
-     * Caches all messages from messages.yml for faster access
+     * Compiles all messages from messages.yml into templates for faster access
      */
     private void cacheMessages() {
-        messageCache.clear();
+        Map<String, MessageTemplate> compiled = new HashMap<>();
         ConfigurationSection section = messages.getConfigurationSection("messages");
         if (section != null) {
             for (String key : section.getKeys(true)) {
                 if (messages.isString("messages." + key)) {
                     String rawMessage = messages.getString("messages." + key);
-                    messageCache.put(key, miniMessage.deserialize(Objects.requireNonNull(rawMessage)));
+                    compiled.put(key, MessageTemplate.compile(miniMessage, Objects.requireNonNull(rawMessage)));
                 }
             }
         }
+        messageCache = Map.copyOf(compiled);
+    }
+
+    /**
+     * Builds and publishes a new configuration snapshot from the loaded files
+     */
+    private void buildSnapshot() {
+        snapshot = ConfigSnapshot.load(++snapshotVersion, config, guiConfig, plugin.getLogger());
+    }
+
+    /**
+     * Retrieves the current configuration snapshot
+     *
+     * <p>Callers should read the snapshot once per operation, so all values
+     * they use come from the same configuration.</p>
+     *
+     * @return the configuration snapshot
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
      * Retrieves a message component with optional placeholder replacements
      *
+     * <p>Messages are parsed once when the configuration is loaded, so
+     * placeholders are filled in without parsing MiniMessage again.</p>
+     *
      * @param key the message key
      * @param placeholders the placeholders to replace (key-value pairs)
      * @return the formatted message component
      */
     public Component getMessage(String key, String... placeholders) {
-        Component message = messageCache.get(key);
-        if (message == null) {
+        MessageTemplate template = messageCache.get(key);
+        if (template == null) {
             String rawMessage = messages.getString("messages." + key, "<red>Message not found: " + key);
-            message = miniMessage.deserialize(rawMessage);
+            template = MessageTemplate.compile(miniMessage, rawMessage);
         }
-
-        // Apply placeholders
-        if (placeholders.length > 0 && placeholders.length % 2 == 0) {
-            String serialized = miniMessage.serialize(message);
-            for (int i = 0; i < placeholders.length; i += 2) {
-                serialized = serialized.replace(placeholders[i], placeholders[i + 1]);
-            }
-            message = miniMessage.deserialize(serialized);
-        }
-
-        return message;
+        return template.render(placeholders);
     }
 
     /**
@@ -195,13 +213,22 @@ public class ConfigManager {
         return config.getString("database.database-name", "kawaii_mailbox");
     }
 
+    /**
+     * Retrieves how often the MongoDB driver heartbeats each server
+     *
+     * @return the heartbeat frequency in seconds
+     */
+    public long getDatabaseHeartbeatFrequency() {
+        return Math.max(1L, config.getLong("database.heartbeat-frequency-seconds", 10L));
+    }
+
     /**
      * Retrieves the maximum number of messages to display per inbox page
      *
      * @return the messages per page
      */
     public int getMessagesPerPage() {
-        return config.getInt("inbox.messages-per-page", 27);
+        return snapshot.mail().messagesPerPage();
     }
 
     /**
@@ -210,7 +237,7 @@ public class ConfigManager {
      * @return the delay in ticks
      */
     public long getInboxAutoOpenDelay() {
-        return config.getLong("inbox.auto-open-delay-ticks", 40L);
+        return snapshot.notifications().autoOpenDelayTicks();
     }
 
     /**
@@ -219,7 +246,7 @@ public class ConfigManager {
      * @return true if enabled, false otherwise
      */
     public boolean isInboxAutoOpenEnabled() {
-        return config.getBoolean("inbox.auto-open-on-join", true);
+        return snapshot.notifications().autoOpenInbox();
     }
 
     /**
@@ -262,11 +289,12 @@ public class ConfigManager {
     /**
      * Reloads all configuration files
      */
-    public void reload() {
+    public synchronized void reload() {
         config = loadConfig("config.yml");
         messages = loadConfig("messages.yml");
         guiConfig = loadConfig("gui.yml");
         cacheMessages();
+        buildSnapshot();
         plugin.getLogger().info("Configuration reloaded successfully");
     }
 }
\ No newline at end of file
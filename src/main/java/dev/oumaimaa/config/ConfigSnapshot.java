@@ -0,0 +1,317 @@
+package dev.oumaimaa.config;
+
+import org.bukkit.Keyed;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Immutable, validated view of the plugin configuration
+ *
+ * <p>A snapshot is built whenever the configuration is loaded or reloaded.
+ * Materials, sounds and particles are resolved once while building it, and
+ * invalid values are reported and replaced by their defaults, so hot paths
+ * only read final fields.</p>
+ *
+ * @param version increases every time the configuration is loaded
+ * @param mail the mail settings
+ * @param notifications the join notification settings
+ * @param inboxGui the inbox GUI settings
+ * @param mailDetailGui the mail detail GUI settings
+ * @param addItemsGui the add items GUI settings
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public record ConfigSnapshot(long version, MailSettings mail, NotificationSettings notifications,
+                             InboxGui inboxGui, MailDetailGui mailDetailGui, AddItemsGui addItemsGui) {
+
+    /**
+     * Builds a snapshot from the loaded configuration files
+     *
+     * @param version the version of the snapshot
+     * @param config the main configuration
+     * @param gui the GUI configuration
+     * @param logger the logger to report invalid values to
+     * @return the snapshot
+     */
+    public static @NotNull ConfigSnapshot load(long version, @NotNull FileConfiguration config,
+                                               @NotNull FileConfiguration gui, @NotNull Logger logger) {
+        Resolver resolver = new Resolver(logger);
+
+        MailSettings mail = new MailSettings(
+                config.getInt("mail.max-message-length", 500),
+                config.getInt("inbox.messages-per-page", 27));
+
+        NotificationSettings notifications = new NotificationSettings(
+                resolver.registry(Registry.SOUND_EVENT, "notifications.sound",
+                        config.getString("notifications.sound", "ENTITY_EXPERIENCE_ORB_PICKUP")),
+                (float) config.getDouble("notifications.sound-volume", 1.0),
+                (float) config.getDouble("notifications.sound-pitch", 1.0),
+                config.getBoolean("notifications.particles-enabled", true)
+                        ? resolver.registry(Registry.PARTICLE_TYPE, "notifications.particle-type",
+                        config.getString("notifications.particle-type", "HAPPY_VILLAGER"))
+                        : null,
+                config.getInt("notifications.particle-count", 10),
+                config.getBoolean("inbox.auto-open-on-join", true),
+                config.getLong("inbox.auto-open-delay-ticks", 40L),
+                Math.max(1L, config.getLong("notifications.join-batch-window-ticks", 2L)));
+
+        ConfigurationSection inbox = section(gui, "inbox");
+        InboxGui inboxGui = new InboxGui(
+                inbox.getString("title", "Mailbox"),
+                resolver.size("inbox.size", inbox.getInt("size", 54)),
+                inbox.getBoolean("fill-empty-slots", true),
+                resolver.material("inbox.filler-material", inbox.getString("filler-material"), Material.GRAY_STAINED_GLASS_PANE),
+                resolver.material("inbox.mail-item.unread-material", inbox.getString("mail-item.unread-material"), Material.WRITABLE_BOOK),
+                resolver.material("inbox.mail-item.read-material", inbox.getString("mail-item.read-material"), Material.PAPER),
+                resolver.button(inbox, "inbox", "previous-button", 45, Material.ARROW, "Previous Page"),
+                resolver.button(inbox, "inbox", "next-button", 53, Material.ARROW, "Next Page"),
+                resolver.button(inbox, "inbox", "close-button", 49, Material.BARRIER, "Close"));
+
+        ConfigurationSection detail = section(gui, "mail-detail");
+        MailDetailGui mailDetailGui = new MailDetailGui(
+                detail.getString("title", "Mail Details"),
+                resolver.size("mail-detail.size", detail.getInt("size", 54)),
+                detail.getBoolean("fill-empty-slots", true),
+                resolver.material("mail-detail.filler-material", detail.getString("filler-material"), Material.GRAY_STAINED_GLASS_PANE),
+                new Icon(detail.getInt("info-item.slot", 4),
+                        resolver.material("mail-detail.info-item.material", detail.getString("info-item.material"), Material.WRITABLE_BOOK)),
+                detail.getInt("items-start-slot", 19),
+                resolver.button(detail, "mail-detail", "claim-button", 48, Material.CHEST, "Claim Items"),
+                resolver.button(detail, "mail-detail", "back-button", 45, Material.ARROW, "Back to Inbox"),
+                resolver.button(detail, "mail-detail", "close-button", 49, Material.BARRIER, "Close"));
+
+        ConfigurationSection addItems = section(gui, "add-items");
+        AddItemsGui addItemsGui = new AddItemsGui(
+                addItems.getString("title", "Add Items to Mail"),
+                resolver.size("add-items.size", addItems.getInt("size", 54)),
+                resolver.material("add-items.border-material", addItems.getString("border-material"), Material.BLACK_STAINED_GLASS_PANE),
+                new Icon(addItems.getInt("instruction-item.slot", 4),
+                        resolver.material("add-items.instruction-item.material", addItems.getString("instruction-item.material"), Material.BOOK)),
+                resolver.button(addItems, "add-items", "confirm-button", 48, Material.LIME_CONCRETE, "Confirm and Send"),
+                resolver.button(addItems, "add-items", "cancel-button", 50, Material.RED_CONCRETE, "Cancel"));
+
+        return new ConfigSnapshot(version, mail, notifications, inboxGui, mailDetailGui, addItemsGui);
+    }
+
+    /**
+     * Retrieves a configuration section, or an empty one if it is missing
+     *
+     * @param config the configuration
+     * @param path the section path
+     * @return the section
+     */
+    private static @NotNull ConfigurationSection section(@NotNull FileConfiguration config, @NotNull String path) {
+        ConfigurationSection section = config.getConfigurationSection(path);
+        return section != null ? section : new YamlConfiguration();
+    }
+
+    /**
+     * Mail and inbox settings
+     *
+     * @param maxMessageLength the maximum message length in characters
+     * @param messagesPerPage the number of messages per inbox page
+     */
+    public record MailSettings(int maxMessageLength, int messagesPerPage) {
+    }
+
+    /**
+     * Join notification settings
+     *
+     * @param sound the notification sound, or null if none is played
+     * @param soundVolume the sound volume
+     * @param soundPitch the sound pitch
+     * @param particle the notification particle, or null if none is shown
+     * @param particleCount the number of particles
+     * @param autoOpenInbox whether the inbox opens automatically on join
+     * @param autoOpenDelayTicks the delay before the inbox opens
+     * @param joinBatchWindowTicks the window in which join lookups are batched
+     */
+    public record NotificationSettings(@Nullable Sound sound, float soundVolume, float soundPitch,
+                                       @Nullable Particle particle, int particleCount, boolean autoOpenInbox,
+                                       long autoOpenDelayTicks, long joinBatchWindowTicks) {
+    }
+
+    /**
+     * A configured GUI button
+     *
+     * @param slot the inventory slot
+     * @param material the button material
+     * @param name the display name
+     * @param lore the lore lines
+     */
+    public record Button(int slot, Material material, String name, List<String> lore) {
+
+        /**
+         * Constructs a new button, copying its lore
+         */
+        public Button {
+            lore = List.copyOf(lore);
+        }
+    }
+
+    /**
+     * A configured GUI icon
+     *
+     * @param slot the inventory slot
+     * @param material the icon material
+     */
+    public record Icon(int slot, Material material) {
+    }
+
+    /**
+     * Inbox GUI settings
+     *
+     * @param title the inventory title
+     * @param size the inventory size
+     * @param fillEmptySlots whether empty slots are filled
+     * @param fillerMaterial the filler material
+     * @param unreadMaterial the material of unread mail
+     * @param readMaterial the material of read mail
+     * @param previousButton the previous page button
+     * @param nextButton the next page button
+     * @param closeButton the close button
+     */
+    public record InboxGui(String title, int size, boolean fillEmptySlots, Material fillerMaterial,
+                           Material unreadMaterial, Material readMaterial, Button previousButton,
+                           Button nextButton, Button closeButton) {
+    }
+
+    /**
+     * Mail detail GUI settings
+     *
+     * @param title the inventory title
+     * @param size the inventory size
+     * @param fillEmptySlots whether empty slots are filled
+     * @param fillerMaterial the filler material
+     * @param infoItem the mail information icon
+     * @param itemsStartSlot the first slot of the attached items
+     * @param claimButton the claim items button
+     * @param backButton the back to inbox button
+     * @param closeButton the close button
+     */
+    public record MailDetailGui(String title, int size, boolean fillEmptySlots, Material fillerMaterial,
+                                Icon infoItem, int itemsStartSlot, Button claimButton, Button backButton,
+                                Button closeButton) {
+    }
+
+    /**
+     * Add items GUI settings
+     *
+     * @param title the inventory title
+     * @param size the inventory size
+     * @param borderMaterial the border material
+     * @param instructionItem the instruction icon
+     * @param confirmButton the confirm button
+     * @param cancelButton the cancel button
+     */
+    public record AddItemsGui(String title, int size, Material borderMaterial, Icon instructionItem,
+                              Button confirmButton, Button cancelButton) {
+    }
+
+    /**
+     * Resolves and validates raw configuration values, reporting invalid ones
+     *
+     * @param logger the logger to report invalid values to
+     */
+    private record Resolver(Logger logger) {
+
+        /**
+         * Resolves a material name
+         *
+         * @param path the configuration path, for reporting
+         * @param name the configured name, may be null
+         * @param def the material to use if the name is missing or invalid
+         * @return the material
+         */
+        Material material(@NotNull String path, @Nullable String name, @NotNull Material def) {
+            if (name == null) {
+                return def;
+            }
+
+            Material material = Material.matchMaterial(name);
+            if (material == null || !material.isItem()) {
+                logger.warning("Invalid material '" + name + "' at " + path + ", using " + def);
+                return def;
+            }
+            return material;
+        }
+
+        /**
+         * Validates an inventory size
+         *
+         * @param path the configuration path, for reporting
+         * @param size the configured size
+         * @return the size, or 54 if it is not a multiple of 9 between 9 and 54
+         */
+        int size(@NotNull String path, int size) {
+            if (size < 9 || size > 54 || size % 9 != 0) {
+                logger.warning("Invalid inventory size " + size + " at " + path + ", using 54");
+                return 54;
+            }
+            return size;
+        }
+
+        /**
+         * Resolves a button section
+         *
+         * @param gui the GUI section
+         * @param guiPath the GUI section path, for reporting
+         * @param name the button name within the GUI section
+         * @param slot the default slot
+         * @param material the default material
+         * @param displayName the default display name
+         * @return the button
+         */
+        Button button(@NotNull ConfigurationSection gui, @NotNull String guiPath, @NotNull String name,
+                      int slot, @NotNull Material material, @NotNull String displayName) {
+            return new Button(
+                    gui.getInt(name + ".slot", slot),
+                    material(guiPath + "." + name + ".material", gui.getString(name + ".material"), material),
+                    gui.getString(name + ".name", displayName),
+                    gui.getStringList(name + ".lore"));
+        }
+
+        /**
+         * Resolves a registry entry by key, or by its constant-style name such as {@code ENTITY_EXPERIENCE_ORB_PICKUP}
+         *
+         * @param registry the registry to search
+         * @param path the configuration path, for reporting
+         * @param name the configured name
+         * @param <T> the registry entry type
+         * @return the entry, or null if none matches
+         */
+        <T extends Keyed> @Nullable T registry(@NotNull Registry<T> registry, @NotNull String path, @Nullable String name) {
+            if (name == null || name.isBlank()) {
+                return null;
+            }
+
+            NamespacedKey key = NamespacedKey.fromString(name.toLowerCase(Locale.ROOT));
+            T entry = key != null ? registry.get(key) : null;
+            if (entry == null) {
+                for (T candidate : registry) {
+                    if (candidate.getKey().getKey().replace('.', '_').equalsIgnoreCase(name)) {
+                        entry = candidate;
+                        break;
+                    }
+                }
+            }
+
+            if (entry == null) {
+                logger.warning("Invalid value '" + name + "' at " + path + ", it will be ignored");
+            }
+            return entry;
+        }
+    }
+}
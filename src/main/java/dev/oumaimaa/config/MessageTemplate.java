@@ -0,0 +1,199 @@
+package dev.oumaimaa.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message parsed once with slots for its {@code {placeholder}} values
+ *
+ * <p>Every placeholder is turned into a marker component while the message is
+ * parsed, so rendering only swaps the markers for text components carrying the
+ * same style. Values are inserted as plain text and are never parsed as
+ * MiniMessage.</p>
+ *
+ * <p>Messages with a placeholder inside a tag argument, such as a click or
+ * hover action, or inside the span of a tag that styles text per character,
+ * such as a gradient, are parsed again on every render instead. Their values
+ * are still inserted as text components, and values inside tag arguments are
+ * escaped, so values are never parsed as MiniMessage either way.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z0-9_-]+)}");
+    private static final Pattern PLACEHOLDER_IN_TAG = Pattern.compile("<[^>]*\\{[A-Za-z0-9_-]+}[^>]*>");
+    private static final Pattern TAG_OR_PLACEHOLDER = Pattern.compile("<[^<>]*>|\\{([A-Za-z0-9_-]+)}");
+    private static final Pattern CHARACTER_STYLE_TAG =
+            Pattern.compile("<(/?)(gradient|rainbow|transition)(?::[^>]*)?>|<reset>", Pattern.CASE_INSENSITIVE);
+    private static final String SLOT_TAG = "kawaiimailbox_slot";
+    private static final String SLOT_KEY_PREFIX = "kawaiimailbox.slot.";
+
+    private final MiniMessage miniMessage;
+    private final String marked;
+    private final Component component;
+    private final boolean hasSlots;
+    private final boolean reparse;
+
+    /**
+     * Constructs a new message template
+     *
+     * @param miniMessage the MiniMessage instance used to parse the message
+     * @param marked the MiniMessage string with slot tags in place of placeholders outside tags
+     * @param component the parsed message, with slot markers unless it is reparsed
+     * @param hasSlots whether the message contains placeholders
+     * @param reparse whether the message is parsed again on every render
+     */
+    private MessageTemplate(MiniMessage miniMessage, String marked, Component component,
+                            boolean hasSlots, boolean reparse) {
+        this.miniMessage = miniMessage;
+        this.marked = marked;
+        this.component = component;
+        this.hasSlots = hasSlots;
+        this.reparse = reparse;
+    }
+
+    /**
+     * Parses a raw MiniMessage string into a template
+     *
+     * @param miniMessage the MiniMessage instance to parse with
+     * @param raw the raw MiniMessage string
+     * @return the compiled template
+     */
+    public static @NotNull MessageTemplate compile(@NotNull MiniMessage miniMessage, @NotNull String raw) {
+        if (!PLACEHOLDER.matcher(raw).find()) {
+            return new MessageTemplate(miniMessage, raw, miniMessage.deserialize(raw), false, false);
+        }
+
+        String marked = TAG_OR_PLACEHOLDER.matcher(raw).replaceAll(match -> match.group(1) != null
+                ? "<" + SLOT_TAG + ":" + match.group(1) + ">"
+                : Matcher.quoteReplacement(match.group()));
+
+        if (PLACEHOLDER_IN_TAG.matcher(raw).find() || hasPlaceholderInCharacterStyle(raw)) {
+            return new MessageTemplate(miniMessage, marked, miniMessage.deserialize(raw), true, true);
+        }
+
+        Component parsed = miniMessage.deserialize(marked, TagResolver.resolver(SLOT_TAG, (arguments, context) ->
+                Tag.selfClosingInserting(Component.translatable(SLOT_KEY_PREFIX + arguments.popOr("slot name").value()))));
+        return new MessageTemplate(miniMessage, marked, parsed, true, false);
+    }
+
+    /**
+     * Checks if a placeholder sits inside the span of a gradient, rainbow or transition tag
+     *
+     * <p>These tags style every character of their span separately, so the
+     * inserted values have to be part of the parse.</p>
+     *
+     * @param raw the raw MiniMessage string
+     * @return true if a placeholder is styled per character
+     */
+    private static boolean hasPlaceholderInCharacterStyle(@NotNull String raw) {
+        int depth = 0;
+        Matcher matcher = TAG_OR_PLACEHOLDER.matcher(raw);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                if (depth > 0) {
+                    return true;
+                }
+                continue;
+            }
+
+            Matcher tag = CHARACTER_STYLE_TAG.matcher(matcher.group());
+            if (!tag.matches()) {
+                continue;
+            }
+            if (tag.group(2) == null) {
+                depth = 0;
+            } else if (tag.group(1).isEmpty()) {
+                depth++;
+            } else if (depth > 0) {
+                depth--;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders the message with the given placeholder values
+     *
+     * @param placeholders the placeholders and their values as key-value pairs, such as {@code "{count}", "3"}
+     * @return the rendered message component
+     */
+    public @NotNull Component render(String @NotNull ... placeholders) {
+        if (!hasSlots || placeholders.length == 0 || placeholders.length % 2 != 0) {
+            return reparse || !hasSlots ? component : render(component, Map.of());
+        }
+
+        Map<String, String> values = new HashMap<>(placeholders.length);
+        for (int i = 0; i < placeholders.length; i += 2) {
+            Matcher matcher = PLACEHOLDER.matcher(placeholders[i]);
+            values.put(matcher.matches() ? matcher.group(1) : placeholders[i], placeholders[i + 1]);
+        }
+        return reparse ? reparse(values) : render(component, values);
+    }
+
+    /**
+     * Parses the message again with the given placeholder values
+     *
+     * <p>Values inside tag arguments are substituted with their tags escaped,
+     * and all other values are inserted as text components.</p>
+     *
+     * @param values the placeholder values by slot name
+     * @return the rendered message component
+     */
+    private @NotNull Component reparse(@NotNull Map<String, String> values) {
+        String substituted = marked;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            substituted = substituted.replace("{" + entry.getKey() + "}", miniMessage.escapeTags(entry.getValue()));
+        }
+
+        return miniMessage.deserialize(substituted, TagResolver.resolver(SLOT_TAG, (arguments, context) -> {
+            String slot = arguments.popOr("slot name").value();
+            String value = values.get(slot);
+            return Tag.selfClosingInserting(Component.text(value != null ? value : "{" + slot + "}"));
+        }));
+    }
+
+    /**
+     * Replaces the slot markers in a component tree
+     *
+     * <p>Subtrees without markers are reused as they are.</p>
+     *
+     * @param component the component to render
+     * @param values the placeholder values by slot name
+     * @return the rendered component
+     */
+    private static @NotNull Component render(@NotNull Component component, @NotNull Map<String, String> values) {
+        if (component instanceof TranslatableComponent translatable && translatable.key().startsWith(SLOT_KEY_PREFIX)) {
+            String slot = translatable.key().substring(SLOT_KEY_PREFIX.length());
+            String value = values.get(slot);
+            return Component.text(value != null ? value : "{" + slot + "}", translatable.style());
+        }
+
+        List<Component> children = component.children();
+        List<Component> rendered = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component renderedChild = render(child, values);
+            if (rendered == null && renderedChild != child) {
+                rendered = new ArrayList<>(children.subList(0, i));
+            }
+            if (rendered != null) {
+                rendered.add(renderedChild);
+            }
+        }
+        return rendered != null ? component.children(rendered) : component;
+    }
+}
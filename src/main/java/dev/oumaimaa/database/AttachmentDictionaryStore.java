@@ -0,0 +1,132 @@
+package dev.oumaimaa.database;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import dev.oumaimaa.Main;
+import dev.oumaimaa.models.AttachmentCompressor;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists the preset dictionaries used to compress attachments
+ *
+ * <p>Dictionaries are never deleted, since attachments compressed with an
+ * older dictionary reference it by checksum for as long as they exist. The
+ * most recently created dictionary is the one used for new attachments.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class AttachmentDictionaryStore {
+
+    private final Main plugin;
+
+    /**
+     * Constructs a new attachment dictionary store
+     *
+     * @param plugin the main plugin instance
+     */
+    public AttachmentDictionaryStore(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Loads every stored dictionary
+     *
+     * @return the dictionaries keyed by checksum, ordered from oldest to newest
+     */
+    public @NotNull Map<Integer, byte[]> loadDictionaries() {
+        Map<Integer, byte[]> dictionaries = new LinkedHashMap<>();
+        MongoCollection<Document> collection = plugin.getMongoDBManager().getDictionariesCollection();
+        if (collection == null) {
+            return dictionaries;
+        }
+
+        for (Document doc : collection.find().sort(Sorts.ascending("createdAt"))) {
+            dictionaries.put(doc.getInteger("_id"), doc.get("data", Binary.class).getData());
+        }
+        return dictionaries;
+    }
+
+    /**
+     * Loads a single dictionary by checksum
+     *
+     * @param id the Adler-32 checksum of the dictionary
+     * @return the dictionary bytes, or null if it does not exist
+     */
+    public byte @Nullable [] load(int id) {
+        MongoCollection<Document> collection = plugin.getMongoDBManager().getDictionariesCollection();
+        if (collection == null) {
+            return null;
+        }
+
+        Document doc = collection.find(Filters.eq("_id", id)).first();
+        return doc != null ? doc.get("data", Binary.class).getData() : null;
+    }
+
+    /**
+     * Stores a dictionary, making it the newest one
+     *
+     * @param dictionary the dictionary bytes
+     * @return the checksum the dictionary is stored under
+     */
+    public int save(byte @NotNull [] dictionary) {
+        int id = AttachmentCompressor.dictionaryId(dictionary);
+        MongoCollection<Document> collection = plugin.getMongoDBManager().getDictionariesCollection();
+        if (collection != null) {
+            collection.replaceOne(Filters.eq("_id", id),
+                    new Document("_id", id)
+                            .append("data", new Binary(dictionary))
+                            .append("createdAt", System.currentTimeMillis()),
+                    new ReplaceOptions().upsert(true));
+        }
+        return id;
+    }
+
+    /**
+     * Collects uncompressed attachments from a random selection of stored mail
+     *
+     * @param size the number of mails to sample
+     * @param compressor the compressor able to read the stored attachments
+     * @return the uncompressed NBT of the sampled attachments
+     */
+    public @NotNull List<byte[]> sample(int size, @NotNull AttachmentCompressor compressor) {
+        List<byte[]> samples = new ArrayList<>();
+        MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
+        if (collection == null) {
+            return samples;
+        }
+
+        try (MongoCursor<Document> cursor = collection.aggregate(List.of(
+                Aggregates.match(Filters.type("items.0", "binData")),
+                Aggregates.sample(size),
+                Aggregates.project(Projections.include("items"))
+        )).iterator()) {
+            while (cursor.hasNext()) {
+                for (Object item : cursor.next().getList("items", Object.class)) {
+                    if (item instanceof Binary binary) {
+                        try {
+                            samples.add(compressor.decompressToNbt(binary.getData()));
+                        } catch (IOException e) {
+                            plugin.getLogger().warning("Skipping unreadable attachment while sampling: " + e.getMessage());
+                        }
+                    }
+                }
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,119 @@
+package dev.oumaimaa.database;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import dev.oumaimaa.Main;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Rewrites legacy Base64 attachments as BSON binary values
+ *
+ * <p>Earlier versions stored every attached item as a Base64 string. This
+ * migration streams the affected mails and replaces their {@code items} array
+ * in unordered bulk writes. Each update only applies if the array is still
+ * unchanged, so it is safe to run while the server is in use.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class AttachmentMigration {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final Main plugin;
+
+    /**
+     * Constructs a new attachment migration
+     *
+     * @param plugin the main plugin instance
+     */
+    public AttachmentMigration(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Migrates every mail that still holds Base64 encoded attachments
+     *
+     * @return the number of migrated mails
+     */
+    public long run() {
+        MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
+        if (collection == null) {
+            return 0L;
+        }
+
+        long migrated = 0L;
+        List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (MongoCursor<Document> cursor = collection.find(Filters.type("items", BsonType.STRING))
+                .projection(Projections.include("items"))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document doc = cursor.next();
+                List<Object> items = doc.getList("items", Object.class);
+
+                batch.add(new UpdateOneModel<>(
+                        Filters.and(Filters.eq("_id", doc.get("_id")), Filters.eq("items", items)),
+                        Updates.set("items", toBinary(items))));
+
+                if (batch.size() >= BATCH_SIZE) {
+                    migrated += write(collection, batch);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            migrated += write(collection, batch);
+        }
+        return migrated;
+    }
+
+    /**
+     * Converts the Base64 entries of an attachment array to binary values
+     *
+     * @param items the stored attachment array
+     * @return the converted array, keeping entries that are not valid Base64 as they are
+     */
+    private @NotNull List<Object> toBinary(@NotNull List<Object> items) {
+        List<Object> converted = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof String data) {
+                try {
+                    converted.add(new Binary(Base64.getDecoder().decode(data)));
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Skipping attachment that is not valid Base64");
+                }
+            }
+            converted.add(item);
+        }
+        return converted;
+    }
+
+    /**
+     * Writes and clears a batch of migration updates
+     *
+     * @param collection the mailbox collection
+     * @param batch the updates to write
+     * @return the number of modified mails
+     */
+    private long write(@NotNull MongoCollection<Document> collection, @NotNull List<WriteModel<Document>> batch) {
+        long modified = collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        batch.clear();
+        return modified;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package dev.oumaimaa.database;
+
+import com.mongodb.event.ClusterDescriptionChangedEvent;
+import com.mongodb.event.ClusterListener;
+import com.mongodb.event.ServerHeartbeatFailedEvent;
+import com.mongodb.event.ServerHeartbeatSucceededEvent;
+import com.mongodb.event.ServerMonitorListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Logger;
+
+/**
+ * Tracks MongoDB connection health from driver monitoring events
+ *
+ * <p>The driver's server monitors heartbeat every server in the background and
+ * publish the resulting cluster description. This tracker listens to those
+ * events so that checking connection health is a single volatile read and
+ * never performs I/O on the calling thread.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class ConnectionHealthTracker implements ClusterListener, ServerMonitorListener {
+
+    private final Logger logger;
+    private volatile boolean healthy;
+    private volatile long lastHeartbeat;
+
+    /**
+     * Constructs a new connection health tracker
+     *
+     * @param logger the logger used to report health transitions
+     */
+    public ConnectionHealthTracker(@NotNull Logger logger) {
+        this.logger = logger;
+        this.healthy = false;
+        this.lastHeartbeat = 0L;
+    }
+
+    @Override
+    public void clusterDescriptionChanged(@NotNull ClusterDescriptionChangedEvent event) {
+        boolean nowHealthy = event.getNewDescription().hasWritableServer();
+        boolean wasHealthy = healthy;
+        healthy = nowHealthy;
+
+        if (wasHealthy && !nowHealthy) {
+            logger.warning("Lost connection to a writable MongoDB server");
+        } else if (!wasHealthy && nowHealthy && lastHeartbeat != 0L) {
+            logger.info("Connection to MongoDB restored");
+        }
+    }
+
+    @Override
+    public void serverHeartbeatSucceeded(@NotNull ServerHeartbeatSucceededEvent event) {
+        lastHeartbeat = System.currentTimeMillis();
+    }
+
+    @Override
+    public void serverHeartbeatFailed(@NotNull ServerHeartbeatFailedEvent event) {
+        if (healthy) {
+            logger.warning("MongoDB heartbeat failed: " + event.getThrowable().getMessage());
+        }
+    }
+
+    /**
+     * Marks the connection as healthy after an explicit successful round trip
+     */
+    public void markHealthy() {
+        healthy = true;
+        lastHeartbeat = System.currentTimeMillis();
+    }
+
+    /**
+     * Checks if a writable MongoDB server was reachable at the last heartbeat
+     *
+     * @return true if healthy, false otherwise
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Retrieves the time of the last successful heartbeat
+     *
+     * @return the timestamp in milliseconds, or 0 if no heartbeat succeeded yet
+     */
+    public long getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package dev.oumaimaa.database;
+
+import dev.oumaimaa.models.ItemStackSerializer;
+import dev.oumaimaa.models.Mail;
+import org.bson.BsonBinary;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * BSON codec reading and writing {@link Mail} directly
+ *
+ * <p>Mail is streamed straight from the BSON reader into the model, without
+ * building an intermediate {@link org.bson.Document}. The stored layout is
+ * identical to {@link Mail#toDocument()}, so both paths stay interchangeable.
+ * Attachments are written as BSON binary values.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class MailCodec implements Codec<Mail> {
+
+    @Override
+    public void encode(@NotNull BsonWriter writer, @NotNull Mail mail, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeString("_id", mail.getId());
+        writer.writeString("sender", mail.getSender().toString());
+        writer.writeString("senderName", mail.getSenderName());
+        writer.writeString("recipient", mail.getRecipient().toString());
+        writer.writeString("recipientName", mail.getRecipientName());
+        writer.writeString("message", mail.getMessage());
+        writer.writeInt64("timestamp", mail.getTimestamp());
+        writer.writeBoolean("read", mail.isRead());
+        writer.writeBoolean("itemsClaimed", mail.isItemsClaimed());
+
+        writer.writeStartArray("items");
+        for (ItemStack item : mail.getItems()) {
+            byte[] itemData = ItemStackSerializer.serializeToBytes(item);
+            if (itemData != null) {
+                writer.writeBinaryData(new BsonBinary(itemData));
+            }
+        }
+        writer.writeEndArray();
+
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Mail decode(@NotNull BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        UUID sender = null;
+        String senderName = null;
+        UUID recipient = null;
+        String recipientName = null;
+        String message = "";
+        long timestamp = 0L;
+        boolean read = false;
+        boolean itemsClaimed = false;
+        List<ItemStack> items = new ArrayList<>();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+
+            switch (name) {
+                case "_id" -> id = reader.readString();
+                case "sender" -> sender = UUID.fromString(reader.readString());
+                case "senderName" -> senderName = reader.readString();
+                case "recipient" -> recipient = UUID.fromString(reader.readString());
+                case "recipientName" -> recipientName = reader.readString();
+                case "message" -> message = reader.readString();
+                case "timestamp" -> timestamp = readLong(reader);
+                case "read" -> read = reader.readBoolean();
+                case "itemsClaimed" -> itemsClaimed = reader.readBoolean();
+                case "items" -> readItems(reader, items);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new Mail(id, sender, senderName, recipient, recipientName, message,
+                timestamp, read, itemsClaimed, items);
+    }
+
+    @Override
+    public Class<Mail> getEncoderClass() {
+        return Mail.class;
+    }
+
+    /**
+     * Reads the attachment array, skipping entries that cannot be deserialized
+     *
+     * <p>Binary entries are read directly; Base64 string entries written by
+     * earlier versions are still accepted.</p>
+     *
+     * @param reader the reader positioned on the array
+     * @param items the list to add the items to
+     */
+    private static void readItems(@NotNull BsonReader reader, @NotNull List<ItemStack> items) {
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            ItemStack item = switch (reader.getCurrentBsonType()) {
+                case BINARY -> ItemStackSerializer.deserialize(reader.readBinaryData().getData());
+                case STRING -> ItemStackSerializer.deserialize(reader.readString());
+                default -> {
+                    reader.skipValue();
+                    yield null;
+                }
+            };
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        reader.readEndArray();
+    }
+
+    /**
+     * Reads a numeric value as a long regardless of its stored BSON width
+     *
+     * @param reader the reader positioned on the value
+     * @return the value as a long
+     */
+    static long readLong(@NotNull BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> reader.readInt64();
+        };
+    }
+}
\ No newline at end of file
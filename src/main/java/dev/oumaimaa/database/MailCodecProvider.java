@@ -0,0 +1,26 @@
+package dev.oumaimaa.database;
+
+import dev.oumaimaa.models.Mail;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Provides the BSON codecs for the mailbox models
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class MailCodecProvider implements CodecProvider {
+
+    private final MailCodec mailCodec = new MailCodec();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (clazz == Mail.class) {
+            return (Codec<T>) mailCodec;
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package dev.oumaimaa.database;
+
+import dev.oumaimaa.models.MailHeader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * BSON decoder reading {@link MailHeader} directly from projected inbox queries
+ *
+ * <p>Headers are a read-only view, so there is no encoder and the decoder is
+ * not registered with the database's codec registry. Projected documents are
+ * read as {@link RawBsonDocument} and decoded from their bytes instead.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class MailHeaderDecoder implements Decoder<MailHeader> {
+
+    private static final DecoderContext CONTEXT = DecoderContext.builder().build();
+
+    /**
+     * Decodes a header from a projected mail document
+     *
+     * @param document the raw projected document
+     * @return the mail header
+     */
+    public @NotNull MailHeader decode(@NotNull RawBsonDocument document) {
+        try (BsonReader reader = document.asBsonReader()) {
+            return decode(reader, CONTEXT);
+        }
+    }
+
+    @Override
+    public MailHeader decode(@NotNull BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        UUID sender = null;
+        String senderName = null;
+        UUID recipient = null;
+        String recipientName = null;
+        String message = "";
+        long timestamp = 0L;
+        boolean read = false;
+        boolean itemsClaimed = false;
+        int attachmentCount = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+
+            switch (name) {
+                case "_id" -> id = reader.readString();
+                case "sender" -> sender = UUID.fromString(reader.readString());
+                case "senderName" -> senderName = reader.readString();
+                case "recipient" -> recipient = UUID.fromString(reader.readString());
+                case "recipientName" -> recipientName = reader.readString();
+                case "message" -> message = reader.readString();
+                case "timestamp" -> timestamp = MailCodec.readLong(reader);
+                case "read" -> read = reader.readBoolean();
+                case "itemsClaimed" -> itemsClaimed = reader.readBoolean();
+                case "attachmentCount" -> attachmentCount = (int) MailCodec.readLong(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new MailHeader(id, sender, senderName, recipient, recipientName, message,
+                timestamp, read, itemsClaimed, attachmentCount);
+    }
+}
\ No newline at end of file
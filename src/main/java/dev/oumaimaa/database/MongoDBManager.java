@@ -8,13 +8,19 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
 import dev.oumaimaa.Main;
+import dev.oumaimaa.models.Mail;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.spi.LoggerContext;
 import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,10 +34,14 @@ import java.util.concurrent.TimeUnit;
  */
 public class MongoDBManager {
 
+    private static final String COUNTERS_COLLECTION = "mailbox_counters";
+    private static final String DICTIONARIES_COLLECTION = "mailbox_dictionaries";
+
     private final Main plugin;
-    private MongoClient mongoClient;
-    private MongoDatabase database;
-    private boolean connected;
+    private volatile MongoClient mongoClient;
+    private volatile MongoDatabase database;
+    private volatile boolean connected;
+    private volatile ConnectionHealthTracker healthTracker;
 
     /**
      * Constructs a new MongoDB manager
@@ -67,6 +77,10 @@ public class MongoDBManager {
                 return false;
             }
 
+            // Connection health is tracked from the driver's background heartbeats
+            ConnectionHealthTracker tracker = new ConnectionHealthTracker(plugin.getLogger());
+            long heartbeatSeconds = plugin.getConfigManager().getDatabaseHeartbeatFrequency();
+
             // Configure MongoDB client settings
             MongoClientSettings settings = MongoClientSettings.builder()
                     .applyConnectionString(new ConnectionString(connectionString))
@@ -81,14 +95,24 @@ public class MongoDBManager {
                     .applyToSocketSettings(builder -> builder
                             .connectTimeout(10, TimeUnit.SECONDS)
                             .readTimeout(10, TimeUnit.SECONDS))
+                    .applyToClusterSettings(builder -> builder
+                            .addClusterListener(tracker))
+                    .applyToServerSettings(builder -> builder
+                            .addServerMonitorListener(tracker)
+                            .heartbeatFrequency(heartbeatSeconds, TimeUnit.SECONDS))
                     .build();
 
+            healthTracker = tracker;
             mongoClient = MongoClients.create(settings);
-            database = mongoClient.getDatabase(databaseName);
+            database = mongoClient.getDatabase(databaseName)
+                    .withCodecRegistry(CodecRegistries.fromRegistries(
+                            CodecRegistries.fromProviders(new MailCodecProvider()),
+                            MongoClientSettings.getDefaultCodecRegistry()));
 
             // Test connection
             database.runCommand(new Document("ping", 1));
 
+            tracker.markHealthy();
             connected = true;
             plugin.getLogger().info("Successfully connected to MongoDB: " + databaseName);
 
@@ -109,10 +133,11 @@ public class MongoDBManager {
      */
     private void initializeCollections() {
         try {
+            List<String> collectionNames = database.listCollectionNames()
+                    .into(new java.util.ArrayList<>());
+
             // Create mailbox collection if it doesn't exist
-            boolean mailboxExists = database.listCollectionNames()
-                    .into(new java.util.ArrayList<>())
-                    .contains("mailbox");
+            boolean mailboxExists = collectionNames.contains("mailbox");
 
             if (!mailboxExists) {
                 database.createCollection("mailbox");
@@ -129,15 +154,52 @@ public class MongoDBManager {
             mailboxCollection.createIndex(new Document("recipient", 1)
                     .append("read", 1));
 
+            // Index on sender for sent-mail statistics
+            mailboxCollection.createIndex(new Document("sender", 1));
+
             // Index on timestamp for sorting
             mailboxCollection.createIndex(new Document("timestamp", -1));
 
+            // Compound index backing keyset pagination of the inbox
+            mailboxCollection.createIndex(new Document("recipient", 1)
+                    .append("timestamp", -1)
+                    .append("_id", -1));
+
             plugin.getLogger().info("MongoDB indexes created successfully");
+
+            // Build unread counters from existing mail the first time they are used
+            if (!collectionNames.contains(COUNTERS_COLLECTION)) {
+                rebuildUnreadCounters();
+            }
+
+            // Index on counter updates for refreshing the unread recipient filter
+            getCountersCollection().createIndex(new Document("updatedAt", 1));
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to initialize collections: " + e.getMessage());
         }
     }
 
+    /**
+     * Rebuilds the per-recipient unread counters from the mailbox collection
+     *
+     * <p>Every recipient with unread mail gets a counter document keyed by their
+     * UUID. The previous contents of the counters collection are replaced.</p>
+     */
+    public void rebuildUnreadCounters() {
+        MongoCollection<Document> mailboxCollection = getMailboxCollection();
+        if (mailboxCollection == null) {
+            return;
+        }
+
+        mailboxCollection.aggregate(List.of(
+                Aggregates.match(Filters.eq("read", false)),
+                Aggregates.group("$recipient", Accumulators.sum("unread", 1L)),
+                Aggregates.out(COUNTERS_COLLECTION)
+        )).toCollection();
+
+        plugin.getLogger().info("Rebuilt unread mail counters");
+    }
+
     /**
      * Retrieves the mailbox collection
      *
@@ -152,23 +214,55 @@ public class MongoDBManager {
     }
 
     /**
-     * Checks if the MongoDB connection is active
+     * Retrieves the mailbox collection typed to decode straight into {@link Mail}
      *
-     * @return true if connected, false otherwise
+     * @return the typed mailbox collection, or null if not connected
      */
-    public boolean isConnected() {
-        if (!connected || mongoClient == null) {
-            return false;
+    public MongoCollection<Mail> getMailCollection() {
+        if (!connected || database == null) {
+            plugin.getLogger().warning("Attempted to access mailbox collection while not connected to MongoDB");
+            return null;
         }
+        return database.getCollection("mailbox", Mail.class);
+    }
 
-        try {
-            // Ping the database to verify connection
-            database.runCommand(new Document("ping", 1));
-            return true;
-        } catch (Exception e) {
-            connected = false;
-            return false;
+    /**
+     * Retrieves the per-recipient unread counter collection
+     *
+     * @return the counters collection, or null if not connected
+     */
+    public MongoCollection<Document> getCountersCollection() {
+        if (!connected || database == null) {
+            plugin.getLogger().warning("Attempted to access counters collection while not connected to MongoDB");
+            return null;
+        }
+        return database.getCollection(COUNTERS_COLLECTION);
+    }
+
+    /**
+     * Retrieves the attachment compression dictionary collection
+     *
+     * @return the dictionaries collection, or null if not connected
+     */
+    public MongoCollection<Document> getDictionariesCollection() {
+        if (!connected || database == null) {
+            plugin.getLogger().warning("Attempted to access dictionaries collection while not connected to MongoDB");
+            return null;
         }
+        return database.getCollection(DICTIONARIES_COLLECTION);
+    }
+
+    /**
+     * Checks if the MongoDB connection is active
+     *
+     * <p>This reflects the result of the driver's most recent background heartbeat
+     * and performs no I/O, so it is safe to call from the main server thread.</p>
+     *
+     * @return true if connected, false otherwise
+     */
+    public boolean isConnected() {
+        ConnectionHealthTracker tracker = healthTracker;
+        return connected && tracker != null && tracker.isHealthy();
     }
 
     /**
@@ -196,6 +290,7 @@ public class MongoDBManager {
                 mongoClient = null;
                 database = null;
                 connected = false;
+                healthTracker = null;
             }
         }
     }
@@ -0,0 +1,311 @@
+package dev.oumaimaa.gui;
+
+import dev.oumaimaa.config.ConfigSnapshot;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prebuilt static contents of every GUI screen
+ *
+ * <p>Fillers, borders and buttons only depend on the configuration, so they
+ * are rendered once per configuration snapshot. Opening a GUI copies the
+ * prepared contents and only fills in the slots that depend on the mail
+ * being shown. The prepared items are shared and must never be modified;
+ * inventories store their own copies of the items they are given.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public final class GuiTemplates {
+
+    private static final Style INBOX_BUTTON = Style.style(TextDecoration.ITALIC.withState(false));
+    private static final Style DETAIL_BUTTON_NAME = Style.style(NamedTextColor.AQUA, TextDecoration.ITALIC.withState(false));
+    private static final Style BUTTON_LORE = Style.style(NamedTextColor.GRAY, TextDecoration.ITALIC.withState(false));
+    private static final Style CONFIRM_BUTTON_NAME = Style.style(NamedTextColor.GREEN,
+            TextDecoration.ITALIC.withState(false), TextDecoration.BOLD.withState(true));
+    private static final Style CANCEL_BUTTON_NAME = Style.style(NamedTextColor.RED,
+            TextDecoration.ITALIC.withState(false), TextDecoration.BOLD.withState(true));
+
+    private static volatile GuiTemplates current;
+
+    private final long version;
+    private final InboxTemplate inbox;
+    private final MailDetailTemplate mailDetail;
+    private final AddItemsTemplate addItems;
+
+    /**
+     * Renders the templates of a configuration snapshot
+     *
+     * @param snapshot the configuration snapshot
+     */
+    private GuiTemplates(@NotNull ConfigSnapshot snapshot) {
+        this.version = snapshot.version();
+        this.inbox = buildInbox(snapshot.inboxGui());
+        this.mailDetail = buildMailDetail(snapshot.mailDetailGui());
+        this.addItems = buildAddItems(snapshot.addItemsGui());
+    }
+
+    /**
+     * Retrieves the templates of a configuration snapshot, rendering them on first use
+     *
+     * @param snapshot the configuration snapshot
+     * @return the templates
+     */
+    public static @NotNull GuiTemplates of(@NotNull ConfigSnapshot snapshot) {
+        GuiTemplates templates = current;
+        if (templates == null || templates.version != snapshot.version()) {
+            templates = new GuiTemplates(snapshot);
+            current = templates;
+        }
+        return templates;
+    }
+
+    /**
+     * Retrieves the inbox template
+     *
+     * @return the inbox template
+     */
+    public @NotNull InboxTemplate inbox() {
+        return inbox;
+    }
+
+    /**
+     * Retrieves the mail detail template
+     *
+     * @return the mail detail template
+     */
+    public @NotNull MailDetailTemplate mailDetail() {
+        return mailDetail;
+    }
+
+    /**
+     * Retrieves the add items template
+     *
+     * @return the add items template
+     */
+    public @NotNull AddItemsTemplate addItems() {
+        return addItems;
+    }
+
+    /**
+     * Renders the inbox template
+     *
+     * @param config the inbox GUI settings
+     * @return the template
+     */
+    private static @NotNull InboxTemplate buildInbox(ConfigSnapshot.@NotNull InboxGui config) {
+        ItemStack[] contents = new ItemStack[config.size()];
+        if (config.fillEmptySlots()) {
+            Arrays.fill(contents, filler(config.fillerMaterial()));
+        }
+        put(contents, config.closeButton().slot(),
+                button(config.closeButton(), INBOX_BUTTON, INBOX_BUTTON));
+
+        return new InboxTemplate(contents,
+                button(config.previousButton(), INBOX_BUTTON, INBOX_BUTTON),
+                button(config.nextButton(), INBOX_BUTTON, INBOX_BUTTON));
+    }
+
+    /**
+     * Renders the mail detail template
+     *
+     * @param config the mail detail GUI settings
+     * @return the template
+     */
+    private static @NotNull MailDetailTemplate buildMailDetail(ConfigSnapshot.@NotNull MailDetailGui config) {
+        ItemStack[] contents = new ItemStack[config.size()];
+        if (config.fillEmptySlots()) {
+            Arrays.fill(contents, filler(config.fillerMaterial()));
+        }
+        put(contents, config.backButton().slot(),
+                button(config.backButton(), DETAIL_BUTTON_NAME, BUTTON_LORE));
+        put(contents, config.closeButton().slot(),
+                button(config.closeButton(), DETAIL_BUTTON_NAME, BUTTON_LORE));
+
+        return new MailDetailTemplate(contents,
+                button(config.claimButton(), DETAIL_BUTTON_NAME, BUTTON_LORE));
+    }
+
+    /**
+     * Renders the add items template
+     *
+     * @param config the add items GUI settings
+     * @return the template
+     */
+    private static @NotNull AddItemsTemplate buildAddItems(ConfigSnapshot.@NotNull AddItemsGui config) {
+        ItemStack[] contents = new ItemStack[config.size()];
+
+        // Border rows and columns
+        ItemStack border = filler(config.borderMaterial());
+        for (int slot = 0; slot < contents.length; slot++) {
+            if (AddItemsGUI.isBorderSlot(slot)) {
+                contents[slot] = border;
+            }
+        }
+
+        put(contents, config.instructionItem().slot(), instructionItem(config.instructionItem().material()));
+        put(contents, config.confirmButton().slot(),
+                button(config.confirmButton(), CONFIRM_BUTTON_NAME, BUTTON_LORE));
+        put(contents, config.cancelButton().slot(),
+                button(config.cancelButton(), CANCEL_BUTTON_NAME, BUTTON_LORE));
+
+        return new AddItemsTemplate(contents);
+    }
+
+    /**
+     * Creates a button ItemStack
+     *
+     * @param config the button configuration
+     * @param nameStyle the style of the display name
+     * @param loreStyle the style of the lore lines
+     * @return the ItemStack
+     */
+    private static @NotNull ItemStack button(ConfigSnapshot.@NotNull Button config,
+                                             @NotNull Style nameStyle, @NotNull Style loreStyle) {
+        ItemStack button = new ItemStack(config.material());
+        ItemMeta meta = button.getItemMeta();
+
+        meta.displayName(Component.text(config.name(), nameStyle));
+
+        if (!config.lore().isEmpty()) {
+            List<Component> lore = new ArrayList<>();
+            for (String line : config.lore()) {
+                lore.add(Component.text(line, loreStyle));
+            }
+            meta.lore(lore);
+        }
+
+        button.setItemMeta(meta);
+        return button;
+    }
+
+    /**
+     * Creates a nameless filler ItemStack
+     *
+     * @param material the filler material
+     * @return the ItemStack
+     */
+    private static @NotNull ItemStack filler(@NotNull Material material) {
+        ItemStack filler = new ItemStack(material);
+        ItemMeta meta = filler.getItemMeta();
+        meta.displayName(Component.empty());
+        filler.setItemMeta(meta);
+        return filler;
+    }
+
+    /**
+     * Creates the instruction item of the add items GUI
+     *
+     * @param material the item material
+     * @return the ItemStack
+     */
+    private static @NotNull ItemStack instructionItem(@NotNull Material material) {
+        ItemStack instructionItem = new ItemStack(material);
+        ItemMeta meta = instructionItem.getItemMeta();
+
+        meta.displayName(Component.text("How to add items")
+                .color(NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
+
+        List<Component> lore = new ArrayList<>();
+        lore.add(Component.empty());
+        lore.add(Component.text("Place items you want to send")
+                .color(NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
+        lore.add(Component.text("in the empty slots.")
+                .color(NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
+        lore.add(Component.empty());
+        lore.add(Component.text("Click 'Confirm' to send the mail")
+                .color(NamedTextColor.GREEN).decoration(TextDecoration.ITALIC, false));
+        lore.add(Component.text("with the items, or 'Cancel' to")
+                .color(NamedTextColor.RED).decoration(TextDecoration.ITALIC, false));
+        lore.add(Component.text("return items and cancel.")
+                .color(NamedTextColor.RED).decoration(TextDecoration.ITALIC, false));
+
+        meta.lore(lore);
+        instructionItem.setItemMeta(meta);
+        return instructionItem;
+    }
+
+    /**
+     * Sets a slot of a contents array, ignoring slots outside the inventory
+     *
+     * @param contents the contents array
+     * @param slot the slot to set
+     * @param item the item to set
+     */
+    static void put(ItemStack @NotNull [] contents, int slot, @Nullable ItemStack item) {
+        if (slot >= 0 && slot < contents.length) {
+            contents[slot] = item;
+        }
+    }
+
+    /**
+     * Static contents of the inbox GUI
+     *
+     * <p>The contents hold the filler and the close button; the page navigation
+     * buttons are only added when there is a page to navigate to.</p>
+     *
+     * @param template the prepared contents
+     * @param previousButton the previous page button
+     * @param nextButton the next page button
+     */
+    public record InboxTemplate(ItemStack[] template, ItemStack previousButton, ItemStack nextButton) {
+
+        /**
+         * Creates a copy of the prepared contents to fill in
+         *
+         * @return the contents array
+         */
+        public ItemStack @NotNull [] contents() {
+            return template.clone();
+        }
+    }
+
+    /**
+     * Static contents of the mail detail GUI
+     *
+     * <p>The contents hold the filler and the back and close buttons; the claim
+     * button is only added while there are items to claim.</p>
+     *
+     * @param template the prepared contents
+     * @param claimButton the claim items button
+     */
+    public record MailDetailTemplate(ItemStack[] template, ItemStack claimButton) {
+
+        /**
+         * Creates a copy of the prepared contents to fill in
+         *
+         * @return the contents array
+         */
+        public ItemStack @NotNull [] contents() {
+            return template.clone();
+        }
+    }
+
+    /**
+     * Static contents of the add items GUI
+     *
+     * @param template the prepared contents
+     */
+    public record AddItemsTemplate(ItemStack[] template) {
+
+        /**
+         * Creates a copy of the prepared contents
+         *
+         * @return the contents array
+         */
+        public ItemStack @NotNull [] contents() {
+            return template.clone();
+        }
+    }
+}
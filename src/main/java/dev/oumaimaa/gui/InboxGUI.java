@@ -1,27 +1,19 @@
 package dev.oumaimaa.gui;
 
 import dev.oumaimaa.Main;
-import dev.oumaimaa.models.Mail;
+import dev.oumaimaa.config.ConfigSnapshot;
+import dev.oumaimaa.models.InboxCursor;
+import dev.oumaimaa.models.InboxPage;
+import dev.oumaimaa.models.MailHeader;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
-
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * GUI for displaying player's inbox with pagination
@@ -32,221 +24,114 @@ import java.util.List;
  * @author oumaimaa
  * @version 1.0.0
  */
-public class InboxGUI implements Listener {
+public class InboxGUI implements MailboxGui {
 
     private final Main plugin;
     private final Player player;
-    private final int page;
+    private final InboxCursor cursor;
     private Inventory inventory;
-    private final List<Mail> currentMails;
-    private final SimpleDateFormat dateFormat;
+    private InboxPage currentPage;
+    private ConfigSnapshot snapshot;
+    private ConfigSnapshot.InboxGui guiConfig;
+    private GuiTemplates.InboxTemplate template;
+
+    /**
+     * Constructs a new inbox GUI showing the newest page
+     *
+     * @param plugin the main plugin instance
+     * @param player the player viewing the inbox
+     */
+    public InboxGUI(Main plugin, Player player) {
+        this(plugin, player, null);
+    }
 
     /**
      * Constructs a new inbox GUI
      *
      * @param plugin the main plugin instance
      * @param player the player viewing the inbox
-     * @param page the current page number
+     * @param cursor the cursor of the page to show, or null for the newest page
      */
-    public InboxGUI(Main plugin, Player player, int page) {
+    public InboxGUI(Main plugin, Player player, @Nullable InboxCursor cursor) {
         this.plugin = plugin;
         this.player = player;
-        this.page = page;
-        this.currentMails = new ArrayList<>();
-        this.dateFormat = new SimpleDateFormat("MMM dd, yyyy HH:mm");
+        this.cursor = cursor;
+        this.currentPage = InboxPage.empty();
     }
 
     /**
      * Opens the inbox GUI for the player
      */
     public void open() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
-
-        ConfigurationSection guiConfig = plugin.getConfigManager().getGuiSection("inbox");
-        String title = guiConfig.getString("title", "Mailbox");
-        int size = guiConfig.getInt("size", 54);
-
-        inventory = Bukkit.createInventory(null, size, Component.text(title));
-
-        // Load mail asynchronously
-        int messagesPerPage = plugin.getConfigManager().getMessagesPerPage();
-        plugin.getMailboxManager().getInbox(player.getUniqueId(), page, messagesPerPage)
-                .thenAccept(mails -> {
-                    currentMails.addAll(mails);
-                    Bukkit.getScheduler().runTask(plugin, this::populateInventory);
-                });
+        snapshot = plugin.getConfigManager().getSnapshot();
+        guiConfig = snapshot.inboxGui();
+        inventory = Bukkit.createInventory(this, guiConfig.size(), Component.text(guiConfig.title()));
+
+        // Load mail and build the contents asynchronously; the main thread only shows them
+        int messagesPerPage = snapshot.mail().messagesPerPage();
+        plugin.getMailboxManager().getInbox(player.getUniqueId(), cursor, messagesPerPage)
+                .thenApplyAsync(this::buildContents, plugin.getMailboxManager().getExecutor())
+                .whenCompleteAsync((contents, throwable) -> {
+                    if (throwable != null) {
+                        plugin.getLogger().severe("Failed to prepare inbox for " + player.getName()
+                                + ": " + throwable.getMessage());
+                        return;
+                    }
+                    show(contents);
+                }, plugin.getMailboxScheduler().forPlayer(player.getUniqueId()));
     }
 
     /**
-     * Populates the inventory with mail items and navigation buttons
-     */
-    private void populateInventory() {
-        inventory.clear();
-
-        ConfigurationSection guiConfig = plugin.getConfigManager().getGuiSection("inbox");
-
-        // Add mail items
-        int slot = 0;
-        for (Mail mail : currentMails) {
-            if (slot >= 45) break; // Reserve bottom row for navigation
-
-            ItemStack mailItem = createMailItem(mail);
-            inventory.setItem(slot, mailItem);
-            slot++;
-        }
-
-        addNavigationButtons(guiConfig);
-        fillEmptySlots(guiConfig);
-
-        player.openInventory(inventory);
-    }
-
-    /**
-     * Creates an ItemStack representing a mail message
+     * Sets the prepared contents and opens the inventory for the player
      *
-     * @param mail the mail to represent
-     * @return the ItemStack
+     * @param contents the prepared inventory contents
      */
-    private @NotNull ItemStack createMailItem(@NotNull Mail mail) {
-        ConfigurationSection mailItemConfig = plugin.getConfigManager()
-                .getGuiSection("inbox.mail-item");
-
-        Material material = mail.isRead()
-                ? Material.valueOf(mailItemConfig.getString("read-material", "PAPER"))
-                : Material.valueOf(mailItemConfig.getString("unread-material", "WRITABLE_BOOK"));
-
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-
-        Component displayName = Component.text("Mail from " + mail.getSenderName())
-                .color(mail.isRead() ? NamedTextColor.GRAY : NamedTextColor.GOLD)
-                .decoration(TextDecoration.ITALIC, false);
-        meta.displayName(displayName);
-
-        List<Component> lore = new ArrayList<>();
-        lore.add(Component.empty());
-
-        String preview = mail.getMessagePreview(30);
-        lore.add(Component.text(preview).color(NamedTextColor.WHITE)
-                .decoration(TextDecoration.ITALIC, false));
-
-        lore.add(Component.empty());
-        lore.add(Component.text("Date: " + dateFormat.format(new Date(mail.getTimestamp())))
-                .color(NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
-
-        if (mail.hasItems()) {
-            lore.add(Component.text("📦 Contains items")
-                    .color(NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
-        }
-
-        if (mail.isRead()) {
-            lore.add(Component.text("✓ Read").color(NamedTextColor.GREEN)
-                    .decoration(TextDecoration.ITALIC, false));
-        } else {
-            lore.add(Component.text("✉ Unread").color(NamedTextColor.RED)
-                    .decoration(TextDecoration.ITALIC, false));
+    private void show(ItemStack @NotNull [] contents) {
+        if (!player.isOnline()) {
+            return;
         }
 
-        lore.add(Component.empty());
-        lore.add(Component.text("Click to view").color(NamedTextColor.AQUA)
-                .decoration(TextDecoration.ITALIC, false));
-
-        meta.lore(lore);
-        item.setItemMeta(meta);
-        return item;
+        inventory.setContents(contents);
+        player.openInventory(inventory);
     }
 
     /**
-     * Adds navigation buttons to the inventory
+     * Builds the inventory contents with mail items and navigation buttons
      *
-     * @param guiConfig the GUI configuration section
-     */
-    private void addNavigationButtons(ConfigurationSection guiConfig) {
-        // Previous page button
-        if (page > 0) {
-            ItemStack prevButton = createButton(
-                    Material.valueOf(guiConfig.getString("previous-button.material", "ARROW")),
-                    guiConfig.getString("previous-button.name", "Previous Page"),
-                    guiConfig.getStringList("previous-button.lore")
-            );
-            inventory.setItem(guiConfig.getInt("previous-button.slot", 45), prevButton);
-        }
-
-        // Next page button
-        if (currentMails.size() >= plugin.getConfigManager().getMessagesPerPage()) {
-            ItemStack nextButton = createButton(
-                    Material.valueOf(guiConfig.getString("next-button.material", "ARROW")),
-                    guiConfig.getString("next-button.name", "Next Page"),
-                    guiConfig.getStringList("next-button.lore")
-            );
-            inventory.setItem(guiConfig.getInt("next-button.slot", 53), nextButton);
-        }
-
-        // Close button
-        ItemStack closeButton = createButton(
-                Material.valueOf(guiConfig.getString("close-button.material", "BARRIER")),
-                guiConfig.getString("close-button.name", "Close"),
-                guiConfig.getStringList("close-button.lore")
-        );
-        inventory.setItem(guiConfig.getInt("close-button.slot", 49), closeButton);
-    }
-
-    /**
-     * Creates a GUI button ItemStack
+     * <p>This runs off the main thread and only touches the new contents
+     * array, never the inventory itself.</p>
      *
-     * @param material the button material
-     * @param name the button name
-     * @param loreList the button lore
-     * @return the ItemStack
+     * @param inboxPage the page to show
+     * @return the inventory contents
      */
-    private @NotNull ItemStack createButton(Material material, String name, List<String> loreList) {
-        ItemStack button = new ItemStack(material);
-        ItemMeta meta = button.getItemMeta();
+    private ItemStack @NotNull [] buildContents(@NotNull InboxPage inboxPage) {
+        currentPage = inboxPage;
+        template = GuiTemplates.of(snapshot).inbox();
+        ItemStack[] contents = template.contents();
 
-        meta.displayName(Component.text(name).decoration(TextDecoration.ITALIC, false));
+        // Add mail items, reusing icons rendered by earlier opens
+        MailIconCache iconCache = plugin.getMailIconCache();
+        int slot = 0;
+        for (MailHeader mail : currentPage.mails()) {
+            if (slot >= 45) break; // Reserve bottom row for navigation
 
-        if (loreList != null && !loreList.isEmpty()) {
-            List<Component> lore = new ArrayList<>();
-            for (String line : loreList) {
-                lore.add(Component.text(line).decoration(TextDecoration.ITALIC, false));
-            }
-            meta.lore(lore);
+            GuiTemplates.put(contents, slot, iconCache.icon(mail, snapshot));
+            slot++;
         }
 
-        button.setItemMeta(meta);
-        return button;
-    }
-
-    /**
-     * Fills empty slots with a filler item
-     *
-     * @param guiConfig the GUI configuration section
-     */
-    private void fillEmptySlots(@NotNull ConfigurationSection guiConfig) {
-        if (!guiConfig.getBoolean("fill-empty-slots", true)) {
-            return;
+        // Navigation buttons, only when there is a page to go to
+        if (currentPage.hasNewer()) {
+            GuiTemplates.put(contents, guiConfig.previousButton().slot(), template.previousButton());
         }
-
-        Material fillerMaterial = Material.valueOf(
-                guiConfig.getString("filler-material", "GRAY_STAINED_GLASS_PANE"));
-        ItemStack filler = new ItemStack(fillerMaterial);
-        ItemMeta meta = filler.getItemMeta();
-        meta.displayName(Component.empty());
-        filler.setItemMeta(meta);
-
-        for (int i = 0; i < inventory.getSize(); i++) {
-            if (inventory.getItem(i) == null) {
-                inventory.setItem(i, filler);
-            }
+        if (currentPage.hasOlder()) {
+            GuiTemplates.put(contents, guiConfig.nextButton().slot(), template.nextButton());
         }
-    }
 
-    @EventHandler
-    public void onInventoryClick(@NotNull InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) {
-            return;
-        }
+        return contents;
+    }
 
+    @Override
+    public void handleClick(@NotNull InventoryClickEvent event) {
         event.setCancelled(true);
 
         if (!(event.getWhoClicked() instanceof Player clicker)) {
@@ -262,40 +147,36 @@ public class InboxGUI implements Listener {
             return;
         }
 
-        ConfigurationSection guiConfig = plugin.getConfigManager().getGuiSection("inbox");
         int slot = event.getSlot();
 
         // Handle navigation buttons
-        if (slot == guiConfig.getInt("previous-button.slot", 45) && page > 0) {
+        if (slot == guiConfig.previousButton().slot() && currentPage.hasNewer()) {
             clicker.closeInventory();
-            new InboxGUI(plugin, player, page - 1).open();
+            new InboxGUI(plugin, player, currentPage.newerCursor()).open();
             return;
         }
 
-        if (slot == guiConfig.getInt("next-button.slot", 53)) {
+        if (slot == guiConfig.nextButton().slot() && currentPage.hasOlder()) {
             clicker.closeInventory();
-            new InboxGUI(plugin, player, page + 1).open();
+            new InboxGUI(plugin, player, currentPage.olderCursor()).open();
             return;
         }
 
-        if (slot == guiConfig.getInt("close-button.slot", 49)) {
+        if (slot == guiConfig.closeButton().slot()) {
             clicker.closeInventory();
             return;
         }
 
         // Handle mail item click
-        if (slot < currentMails.size()) {
-            Mail mail = currentMails.get(slot);
+        if (slot < currentPage.mails().size()) {
+            MailHeader mail = currentPage.mails().get(slot);
             clicker.closeInventory();
             new MailDetailGUI(plugin, player, mail, this).open();
         }
     }
 
-    @EventHandler
-    public void onInventoryClose(@NotNull InventoryCloseEvent event) {
-        if (event.getInventory().equals(inventory)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
-        }
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
     }
 }
\ No newline at end of file
@@ -1,107 +1,141 @@
 package dev.oumaimaa.gui;
 
 import dev.oumaimaa.Main;
-import dev.oumaimaa.models.Mail;
+import dev.oumaimaa.config.ConfigSnapshot;
+import dev.oumaimaa.models.MailHeader;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GUI for displaying detailed mail information
  *
  * <p>This class creates an interface showing the full mail content,
- * attached items, and action buttons.</p>
+ * attached items, and action buttons. Attachments are only fetched from
+ * the database when the view is opened.</p>
  *
  * @author oumaimaa
  * @version 1.0.0
  */
-public class MailDetailGUI implements Listener {
+public class MailDetailGUI implements MailboxGui {
 
     private final Main plugin;
     private final Player player;
-    private final Mail mail;
+    private final MailHeader mail;
     private final InboxGUI previousGUI;
     private Inventory inventory;
-    private final SimpleDateFormat dateFormat;
+    private List<ItemStack> attachments;
+    private ConfigSnapshot snapshot;
+    private ConfigSnapshot.MailDetailGui guiConfig;
+    private GuiTemplates.MailDetailTemplate template;
 
     /**
      * Constructs a new mail detail GUI
      *
      * @param plugin the main plugin instance
      * @param player the player viewing the mail
-     * @param mail the mail to display
+     * @param mail the header of the mail to display
      * @param previousGUI the previous inbox GUI
      */
-    public MailDetailGUI(Main plugin, Player player, Mail mail, InboxGUI previousGUI) {
+    public MailDetailGUI(Main plugin, Player player, MailHeader mail, InboxGUI previousGUI) {
         this.plugin = plugin;
         this.player = player;
         this.mail = mail;
         this.previousGUI = previousGUI;
-        this.dateFormat = new SimpleDateFormat("MMM dd, yyyy HH:mm");
+        this.attachments = List.of();
     }
 
     /**
      * Opens the mail detail GUI
      */
     public void open() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
-
-        ConfigurationSection guiConfig = plugin.getConfigManager().getGuiSection("mail-detail");
-        String title = guiConfig.getString("title", "Mail Details");
-        int size = guiConfig.getInt("size", 54);
-
-        inventory = Bukkit.createInventory(null, size, Component.text(title));
-        populateInventory();
-        player.openInventory(inventory);
+        snapshot = plugin.getConfigManager().getSnapshot();
+        guiConfig = snapshot.mailDetailGui();
+        inventory = Bukkit.createInventory(this, guiConfig.size(), Component.text(guiConfig.title()));
+
+        // Load attachments lazily, only when there is something left to claim
+        CompletableFuture<List<ItemStack>> attachmentsFuture = mail.hasItems() && !mail.isItemsClaimed()
+                ? plugin.getMailboxManager().getAttachments(mail.getRecipient(), mail.getId())
+                : CompletableFuture.completedFuture(List.of());
+
+        // Contents are built off the main thread, which only has to show them
+        attachmentsFuture
+                .thenApplyAsync(this::buildContents, plugin.getMailboxManager().getExecutor())
+                .whenCompleteAsync((contents, throwable) -> {
+                    if (throwable != null) {
+                        plugin.getLogger().severe("Failed to prepare mail view for " + player.getName()
+                                + ": " + throwable.getMessage());
+                        return;
+                    }
+                    show(contents);
+                }, plugin.getMailboxScheduler().forPlayer(player.getUniqueId()));
 
         // Mark as read
         if (!mail.isRead()) {
-            plugin.getMailboxManager().markAsRead(mail.getId());
+            plugin.getMailboxManager().markAsRead(mail.getRecipient(), mail.getId());
             mail.setRead(true);
         }
     }
 
     /**
-     * Populates the inventory with mail details and action buttons
+     * Sets the prepared contents and opens the inventory for the player
+     *
+     * @param contents the prepared inventory contents
      */
-    private void populateInventory() {
-        ConfigurationSection guiConfig = plugin.getConfigManager().getGuiSection("mail-detail");
+    private void show(ItemStack @NotNull [] contents) {
+        if (!player.isOnline()) {
+            return;
+        }
 
-        addMailInfo(guiConfig);
-        addAttachedItems(guiConfig);
-        addActionButtons(guiConfig);
-        fillEmptySlots(guiConfig);
+        inventory.setContents(contents);
+        player.openInventory(inventory);
     }
 
     /**
-     * Adds the mail information display item
+     * Builds the inventory contents with mail details and action buttons
      *
-     * @param guiConfig the GUI configuration section
+     * <p>This runs off the main thread and only touches the new contents
+     * array, never the inventory itself.</p>
+     *
+     * @param items the attached items to show
+     * @return the inventory contents
      */
-    private void addMailInfo(@NotNull ConfigurationSection guiConfig) {
-        Material material = Material.valueOf(
-                guiConfig.getString("info-item.material", "WRITABLE_BOOK"));
-        int slot = guiConfig.getInt("info-item.slot", 4);
+    private ItemStack @NotNull [] buildContents(@NotNull List<ItemStack> items) {
+        attachments = items;
+        template = GuiTemplates.of(snapshot).mailDetail();
+        ItemStack[] contents = template.contents();
+
+        GuiTemplates.put(contents, guiConfig.infoItem().slot(), createMailInfo());
+        addAttachedItems(contents);
+
+        // Claim items button (if items exist and not claimed)
+        if (!attachments.isEmpty() && !mail.isItemsClaimed()) {
+            GuiTemplates.put(contents, guiConfig.claimButton().slot(), template.claimButton());
+        }
+
+        return contents;
+    }
 
-        ItemStack infoItem = new ItemStack(material);
+    /**
+     * Creates the mail information display item
+     *
+     * @return the ItemStack
+     */
+    private @NotNull ItemStack createMailInfo() {
+        ItemStack infoItem = new ItemStack(guiConfig.infoItem().material());
         ItemMeta meta = infoItem.getItemMeta();
 
         meta.displayName(Component.text("Mail from " + mail.getSenderName())
@@ -111,7 +145,7 @@ public class MailDetailGUI implements Listener {
         lore.add(Component.empty());
         lore.add(Component.text("From: " + mail.getSenderName())
                 .color(NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
-        lore.add(Component.text("Date: " + dateFormat.format(new Date(mail.getTimestamp())))
+        lore.add(Component.text("Date: " + MailIconCache.DATE_FORMAT.format(Instant.ofEpochMilli(mail.getTimestamp())))
                 .color(NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
         lore.add(Component.empty());
         lore.add(Component.text("Message:").color(NamedTextColor.YELLOW)
@@ -136,120 +170,30 @@ public class MailDetailGUI implements Listener {
 
         meta.lore(lore);
         infoItem.setItemMeta(meta);
-        inventory.setItem(slot, infoItem);
+        return infoItem;
     }
 
     /**
      * Adds attached items to the display
      *
-     * @param guiConfig the GUI configuration section
+     * @param contents the contents array to add them to
      */
-    private void addAttachedItems(ConfigurationSection guiConfig) {
-        if (!mail.hasItems() || mail.isItemsClaimed()) {
+    private void addAttachedItems(ItemStack @NotNull [] contents) {
+        if (attachments.isEmpty() || mail.isItemsClaimed()) {
             return;
         }
 
-        AtomicInteger startSlot = new AtomicInteger(guiConfig.getInt("items-start-slot", 19));
-        int slot = startSlot.get();
+        int slot = guiConfig.itemsStartSlot();
 
-        for (ItemStack item : mail.getItems()) {
+        for (ItemStack item : attachments) {
             if (slot >= 35) break; // Don't overflow into button area
-            inventory.setItem(slot, item);
+            GuiTemplates.put(contents, slot, item);
             slot++;
         }
     }
 
-    /**
-     * Adds action buttons to the inventory
-     *
-     * @param guiConfig the GUI configuration section
-     */
-    private void addActionButtons(ConfigurationSection guiConfig) {
-        // Claim items button (if items exist and not claimed)
-        if (mail.hasItems() && !mail.isItemsClaimed()) {
-            ItemStack claimButton = createButton(
-                    Material.valueOf(guiConfig.getString("claim-button.material", "CHEST")),
-                    guiConfig.getString("claim-button.name", "Claim Items"),
-                    guiConfig.getStringList("claim-button.lore")
-            );
-            inventory.setItem(guiConfig.getInt("claim-button.slot", 48), claimButton);
-        }
-
-        // Back button
-        ItemStack backButton = createButton(
-                Material.valueOf(guiConfig.getString("back-button.material", "ARROW")),
-                guiConfig.getString("back-button.name", "Back to Inbox"),
-                guiConfig.getStringList("back-button.lore")
-        );
-        inventory.setItem(guiConfig.getInt("back-button.slot", 45), backButton);
-
-        // Close button
-        ItemStack closeButton = createButton(
-                Material.valueOf(guiConfig.getString("close-button.material", "BARRIER")),
-                guiConfig.getString("close-button.name", "Close"),
-                guiConfig.getStringList("close-button.lore")
-        );
-        inventory.setItem(guiConfig.getInt("close-button.slot", 49), closeButton);
-    }
-
-    /**
-     * Creates a GUI button ItemStack
-     *
-     * @param material the button material
-     * @param name the button name
-     * @param loreList the button lore
-     * @return the ItemStack
-     */
-    private @NotNull ItemStack createButton(Material material, String name, List<String> loreList) {
-        ItemStack button = new ItemStack(material);
-        ItemMeta meta = button.getItemMeta();
-
-        meta.displayName(Component.text(name)
-                .color(NamedTextColor.AQUA).decoration(TextDecoration.ITALIC, false));
-
-        if (loreList != null && !loreList.isEmpty()) {
-            List<Component> lore = new ArrayList<>();
-            for (String line : loreList) {
-                lore.add(Component.text(line)
-                        .color(NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
-            }
-            meta.lore(lore);
-        }
-
-        button.setItemMeta(meta);
-        return button;
-    }
-
-    /**
-     * Fills empty slots with a filler item
-     *
-     * @param guiConfig the GUI configuration section
-     */
-    private void fillEmptySlots(@NotNull ConfigurationSection guiConfig) {
-        if (!guiConfig.getBoolean("fill-empty-slots", true)) {
-            return;
-        }
-
-        Material fillerMaterial = Material.valueOf(
-                guiConfig.getString("filler-material", "GRAY_STAINED_GLASS_PANE"));
-        ItemStack filler = new ItemStack(fillerMaterial);
-        ItemMeta meta = filler.getItemMeta();
-        meta.displayName(Component.empty());
-        filler.setItemMeta(meta);
-
-        for (int i = 0; i < inventory.getSize(); i++) {
-            if (inventory.getItem(i) == null) {
-                inventory.setItem(i, filler);
-            }
-        }
-    }
-
-    @EventHandler
-    public void onInventoryClick(@NotNull InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) {
-            return;
-        }
-
+    @Override
+    public void handleClick(@NotNull InventoryClickEvent event) {
         event.setCancelled(true);
 
         if (!(event.getWhoClicked() instanceof Player clicker)) {
@@ -265,25 +209,24 @@ public class MailDetailGUI implements Listener {
             return;
         }
 
-        ConfigurationSection guiConfig = plugin.getConfigManager().getGuiSection("mail-detail");
         int slot = event.getSlot();
 
         // Handle back button
-        if (slot == guiConfig.getInt("back-button.slot", 45)) {
+        if (slot == guiConfig.backButton().slot()) {
             clicker.closeInventory();
             previousGUI.open();
             return;
         }
 
         // Handle close button
-        if (slot == guiConfig.getInt("close-button.slot", 49)) {
+        if (slot == guiConfig.closeButton().slot()) {
             clicker.closeInventory();
             return;
         }
 
         // Handle claim items button
-        if (slot == guiConfig.getInt("claim-button.slot", 48)
-                && mail.hasItems() && !mail.isItemsClaimed()) {
+        if (slot == guiConfig.claimButton().slot()
+                && !attachments.isEmpty() && !mail.isItemsClaimed()) {
             handleClaimItems(clicker);
         }
     }
@@ -294,7 +237,7 @@ public class MailDetailGUI implements Listener {
      * @param clicker the player claiming items
      */
     private void handleClaimItems(@NotNull Player clicker) {
-        List<ItemStack> items = mail.getItems();
+        List<ItemStack> items = attachments;
 
         // Check if player has enough inventory space
         int emptySlots = 0;
@@ -309,27 +252,41 @@ public class MailDetailGUI implements Listener {
             return;
         }
 
-        // Give items to player
-        for (ItemStack item : items) {
-            clicker.getInventory().addItem(item);
+        // Lock the claim locally, so repeated clicks cannot claim again while it is written
+        mail.setItemsClaimed(true);
+        attachments = List.of();
+        int claimSlot = guiConfig.claimButton().slot();
+        if (claimSlot >= 0 && claimSlot < inventory.getSize()) {
+            inventory.setItem(claimSlot, template.template()[claimSlot]);
         }
 
-        // Mark items as claimed
-        plugin.getMailboxManager().markItemsClaimed(mail.getId()).thenAccept(success -> {
-            if (success) {
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    clicker.sendMessage(plugin.getConfigManager().getMessage("items-claimed"));
-                    clicker.closeInventory();
-                });
+        // Give the items only once the database confirms this click claimed them
+        CompletableFuture<Boolean> claim = plugin.getMailboxManager()
+                .markItemsClaimed(mail.getRecipient(), mail.getId());
+        claim.whenCompleteAsync((claimed, throwable) -> {
+            if (throwable != null || !Boolean.TRUE.equals(claimed)) {
+                clicker.sendMessage(plugin.getConfigManager().getMessage("database-error"));
+                clicker.closeInventory();
+                return;
             }
-        });
+
+            if (!clicker.isOnline()) {
+                plugin.getLogger().warning(clicker.getName() + " left before receiving the " + items.size()
+                        + " item(s) claimed from mail " + mail.getId());
+                return;
+            }
+
+            for (ItemStack item : items) {
+                clicker.getInventory().addItem(item).values()
+                        .forEach(leftover -> clicker.getWorld().dropItemNaturally(clicker.getLocation(), leftover));
+            }
+            clicker.sendMessage(plugin.getConfigManager().getMessage("items-claimed"));
+            clicker.closeInventory();
+        }, plugin.getMailboxScheduler().forPlayer(player.getUniqueId()));
     }
 
-    @EventHandler
-    public void onInventoryClose(@NotNull InventoryCloseEvent event) {
-        if (event.getInventory().equals(inventory)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
-        }
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
     }
 }
\ No newline at end of file
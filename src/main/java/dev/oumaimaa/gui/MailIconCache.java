@@ -0,0 +1,152 @@
+package dev.oumaimaa.gui;
+
+import dev.oumaimaa.config.ConfigSnapshot;
+import dev.oumaimaa.models.MailHeader;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of rendered inbox mail icons
+ *
+ * <p>A mail's icon only changes when it is read or its items are claimed, or
+ * when the configuration is reloaded, so icons are cached under those values
+ * and reopening an inbox page reuses them. The least recently used icons are
+ * dropped once the cache is full. Cached icons are shared and must never be
+ * modified; inventories store their own copies of the items they are
+ * given.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class MailIconCache {
+
+    /**
+     * Date format shared by all mail views
+     */
+    public static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm").withZone(ZoneId.systemDefault());
+
+    private final Map<Key, ItemStack> icons;
+
+    /**
+     * Constructs a new mail icon cache
+     *
+     * @param maxIcons the maximum number of icons kept
+     */
+    public MailIconCache(int maxIcons) {
+        int capacity = Math.max(1, maxIcons);
+        this.icons = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ItemStack> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the icon of a mail, rendering it if it is not cached
+     *
+     * @param mail the mail to represent
+     * @param snapshot the configuration snapshot to render with
+     * @return the icon, which must not be modified
+     */
+    public @NotNull ItemStack icon(@NotNull MailHeader mail, @NotNull ConfigSnapshot snapshot) {
+        Key key = new Key(mail.getId(), mail.isRead(), mail.isItemsClaimed(), snapshot.version());
+
+        ItemStack icon;
+        synchronized (icons) {
+            icon = icons.get(key);
+        }
+        if (icon != null) {
+            return icon;
+        }
+
+        // Rendered outside the lock; a concurrent render of the same icon is harmless
+        icon = render(mail, snapshot.inboxGui());
+        synchronized (icons) {
+            icons.put(key, icon);
+        }
+        return icon;
+    }
+
+    /**
+     * Removes all cached icons
+     */
+    public void clear() {
+        synchronized (icons) {
+            icons.clear();
+        }
+    }
+
+    /**
+     * Renders the icon of a mail
+     *
+     * @param mail the mail to represent
+     * @param guiConfig the inbox GUI settings
+     * @return the ItemStack
+     */
+    private static @NotNull ItemStack render(@NotNull MailHeader mail, ConfigSnapshot.@NotNull InboxGui guiConfig) {
+        ItemStack item = new ItemStack(mail.isRead() ? guiConfig.readMaterial() : guiConfig.unreadMaterial());
+        ItemMeta meta = item.getItemMeta();
+
+        Component displayName = Component.text("Mail from " + mail.getSenderName())
+                .color(mail.isRead() ? NamedTextColor.GRAY : NamedTextColor.GOLD)
+                .decoration(TextDecoration.ITALIC, false);
+        meta.displayName(displayName);
+
+        List<Component> lore = new ArrayList<>();
+        lore.add(Component.empty());
+
+        String preview = mail.getMessagePreview(30);
+        lore.add(Component.text(preview).color(NamedTextColor.WHITE)
+                .decoration(TextDecoration.ITALIC, false));
+
+        lore.add(Component.empty());
+        lore.add(Component.text("Date: " + DATE_FORMAT.format(Instant.ofEpochMilli(mail.getTimestamp())))
+                .color(NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
+
+        if (mail.hasItems()) {
+            lore.add(Component.text("📦 Contains items")
+                    .color(NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false));
+        }
+
+        if (mail.isRead()) {
+            lore.add(Component.text("✓ Read").color(NamedTextColor.GREEN)
+                    .decoration(TextDecoration.ITALIC, false));
+        } else {
+            lore.add(Component.text("✉ Unread").color(NamedTextColor.RED)
+                    .decoration(TextDecoration.ITALIC, false));
+        }
+
+        lore.add(Component.empty());
+        lore.add(Component.text("Click to view").color(NamedTextColor.AQUA)
+                .decoration(TextDecoration.ITALIC, false));
+
+        meta.lore(lore);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * Identifies one rendering of a mail icon
+     *
+     * @param mailId the mail ID
+     * @param read whether the mail is read
+     * @param claimed whether the mail's items are claimed
+     * @param version the configuration snapshot version
+     */
+    private record Key(String mailId, boolean read, boolean claimed, long version) {
+    }
+}
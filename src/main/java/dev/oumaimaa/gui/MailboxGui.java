@@ -0,0 +1,26 @@
+package dev.oumaimaa.gui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A mailbox GUI that owns its inventory
+ *
+ * <p>Each GUI is the holder of the inventory it opens, so the global
+ * {@link dev.oumaimaa.listeners.GuiListener} can route events straight to it.
+ * Nothing is registered per GUI, and a GUI is released together with its
+ * inventory once no player is viewing it.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public interface MailboxGui extends InventoryHolder {
+
+    /**
+     * Handles a click in a view whose top inventory is owned by this GUI
+     *
+     * @param event the inventory click event
+     */
+    void handleClick(@NotNull InventoryClickEvent event);
+}
@@ -0,0 +1,28 @@
+package dev.oumaimaa.listeners;
+
+import dev.oumaimaa.gui.MailboxGui;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Dispatches inventory events to the mailbox GUI that owns the inventory
+ *
+ * <p>This listener is registered once for the lifetime of the plugin. The
+ * owning GUI is found through the inventory holder, without taking a snapshot
+ * of any block state, so events in other inventories are skipped after a
+ * single type check.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class GuiListener implements Listener {
+
+    @EventHandler
+    public void onInventoryClick(@NotNull InventoryClickEvent event) {
+        if (event.getInventory().getHolder(false) instanceof MailboxGui gui) {
+            gui.handleClick(event);
+        }
+    }
+}
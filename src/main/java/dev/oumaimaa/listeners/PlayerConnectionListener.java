@@ -1,28 +1,37 @@
 package dev.oumaimaa.listeners;
 
 import dev.oumaimaa.Main;
+import dev.oumaimaa.config.ConfigSnapshot;
 import dev.oumaimaa.gui.InboxGUI;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.*;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashSet;
-import java.util.Objects;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Listens for player connection events and handles mail notifications
  *
  * <p>This class manages the join experience, checking for unread mail
- * and notifying players with messages, sounds, and optional auto-open inbox.</p>
+ * and notifying players with messages, sounds, and optional auto-open inbox.
+ * Each player's inbox is loaded into the cache while they are still logging
+ * in, so the join notification can usually be shown without any database
+ * access, and it is released again on quit.</p>
  *
  * @author oumaimaa
  * @version 1.0.0
@@ -31,6 +40,8 @@ public class PlayerConnectionListener implements Listener {
 
     private final Main plugin;
     private final Set<UUID> processingPlayers;
+    private final Set<UUID> pendingJoins;
+    private final AtomicBoolean batchScheduled;
 
     /**
      * Constructs a new player connection listener
@@ -39,12 +50,50 @@ public class PlayerConnectionListener implements Listener {
      */
     public PlayerConnectionListener(Main plugin) {
         this.plugin = plugin;
-        this.processingPlayers = new HashSet<>();
+        this.processingPlayers = ConcurrentHashMap.newKeySet();
+        this.pendingJoins = ConcurrentHashMap.newKeySet();
+        this.batchScheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Loads the inbox of a player who is allowed to log in into the cache
+     *
+     * <p>This event runs off the main thread, so waiting for the load here
+     * only delays the player's own login, bounded by the configured timeout.</p>
+     *
+     * @param event the async pre-login event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(@NotNull AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED
+                || !plugin.getMongoDBManager().isConnected()) {
+            return;
+        }
+
+        plugin.getMailboxManager().preloadInbox(event.getUniqueId(),
+                plugin.getConfigManager().getInt("inbox.preload-timeout-ms", 1000));
+    }
+
+    /**
+     * Releases the preloaded inbox of a player whose login was denied
+     *
+     * @param event the player login event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(@NotNull PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getMailboxManager().evictInbox(event.getPlayer().getUniqueId());
+        }
     }
 
     /**
      * Handles player join events and checks for unread mail
      *
+     * <p>If the unread count was preloaded the player is notified right away;
+     * otherwise the inbox is loaded into the cache now and the player is
+     * notified from the count it read. Only if that load fails is the count
+     * looked up together with the other joins of the batch window.</p>
+     *
      * @param event the player join event
      */
     @EventHandler(priority = EventPriority.HIGH)
@@ -52,59 +101,108 @@ public class PlayerConnectionListener implements Listener {
         Player player = event.getPlayer();
         UUID playerUUID = player.getUniqueId();
 
+        Long cachedUnread = plugin.getMailboxManager().getCachedUnreadCount(playerUUID);
+        if (cachedUnread != null) {
+            if (cachedUnread > 0) {
+                notifyPlayer(player, cachedUnread);
+            }
+            return;
+        }
+
         // Prevent duplicate processing for rapid join/quit scenarios
-        if (processingPlayers.contains(playerUUID)) {
+        if (!processingPlayers.add(playerUUID)) {
             return;
         }
 
-        processingPlayers.add(playerUUID);
+        // Loading the inbox reads the unread counter anyway, so the notification is taken from the cache
+        plugin.getMailboxManager().warmInbox(playerUUID).whenCompleteAsync((loaded, throwable) -> {
+            Long unread = plugin.getMailboxManager().getCachedUnreadCount(playerUUID);
+            if (unread == null) {
+                queueUnreadCheck(playerUUID);
+                return;
+            }
 
-        // Check for unread mail asynchronously with a small delay to avoid login spam
-        Bukkit.getScheduler().runTaskLater(plugin, () -> checkUnreadMail(player), 20L); // 1-second delay after join
+            processingPlayers.remove(playerUUID);
+            Player online = Bukkit.getPlayer(playerUUID);
+            if (unread > 0 && online != null) {
+                notifyPlayer(online, unread);
+            }
+        }, plugin.getMailboxScheduler().forPlayer(playerUUID));
     }
 
     /**
-     * Checks for unread mail and notifies the player
+     * Releases the cached inbox of a player who left
      *
-     * @param player the player to check
+     * @param event the player quit event
      */
-    private void checkUnreadMail(@NotNull Player player) {
-        if (!player.isOnline()) {
-            processingPlayers.remove(player.getUniqueId());
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        plugin.getMailboxManager().evictInbox(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Queues a player's unread mail check, resolved together with the other joins of the batch window
+     *
+     * @param playerUUID the player's UUID
+     */
+    private void queueUnreadCheck(@NotNull UUID playerUUID) {
+        pendingJoins.add(playerUUID);
+        if (batchScheduled.compareAndSet(false, true)) {
+            plugin.getMailboxScheduler().runLater(this::checkUnreadMail,
+                    plugin.getConfigManager().getSnapshot().notifications().joinBatchWindowTicks());
+        }
+    }
+
+    /**
+     * Checks for unread mail of every player who joined in the last batch window and notifies them
+     */
+    private void checkUnreadMail() {
+        batchScheduled.set(false);
+        Set<UUID> batch = new HashSet<>();
+        for (Iterator<UUID> iterator = pendingJoins.iterator(); iterator.hasNext(); ) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        batch.removeIf(playerUUID -> {
+            if (Bukkit.getPlayer(playerUUID) == null) {
+                processingPlayers.remove(playerUUID);
+                return true;
+            }
+            return false;
+        });
+        if (batch.isEmpty()) {
             return;
         }
 
         // Graceful handling if MongoDB is not connected
         if (!plugin.getMongoDBManager().isConnected()) {
-            plugin.getLogger().warning("Cannot check unread mail for " + player.getName()
-                    + " - MongoDB not connected");
-            processingPlayers.remove(player.getUniqueId());
+            plugin.getLogger().warning("Cannot check unread mail for " + batch.size()
+                    + " player(s) - MongoDB not connected");
+            processingPlayers.removeAll(batch);
             return;
         }
 
-        plugin.getMailboxManager().countUnreadMail(player.getUniqueId())
-                .thenAccept(unreadCount -> {
-                    if (!player.isOnline()) {
-                        processingPlayers.remove(player.getUniqueId());
+        plugin.getMailboxManager().countUnreadMail(batch)
+                .whenCompleteAsync((unreadCounts, throwable) -> {
+                    processingPlayers.removeAll(batch);
+                    if (throwable != null) {
+                        plugin.getLogger().severe("Failed to check unread mail for " + batch.size()
+                                + " player(s): " + throwable.getMessage());
                         return;
                     }
 
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        try {
-                            if (unreadCount > 0) {
-                                notifyPlayer(player, unreadCount);
-                            }
-                        } finally {
-                            processingPlayers.remove(player.getUniqueId());
+                    // Each notification waits in its player's lane, so a large batch is spread over ticks
+                    unreadCounts.forEach((playerUUID, unreadCount) -> {
+                        if (unreadCount > 0) {
+                            plugin.getMailboxScheduler().forPlayer(playerUUID).execute(() -> {
+                                Player player = Bukkit.getPlayer(playerUUID);
+                                if (player != null) {
+                                    notifyPlayer(player, unreadCount);
+                                }
+                            });
                         }
                     });
-                })
-                .exceptionally(throwable -> {
-                    plugin.getLogger().severe("Failed to check unread mail for " + player.getName()
-                            + ": " + throwable.getMessage());
-                    processingPlayers.remove(player.getUniqueId());
-                    return null;
-                });
+                }, plugin.getMailboxScheduler().global());
     }
 
     /**
@@ -129,46 +227,26 @@ public class PlayerConnectionListener implements Listener {
 
         player.sendMessage(message);
 
+        ConfigSnapshot.NotificationSettings settings = plugin.getConfigManager().getSnapshot().notifications();
+
         // Play sound notification
-        String soundName = plugin.getConfigManager()
-                .getString("notifications.sound", "ENTITY_EXPERIENCE_ORB_PICKUP");
-        float volume = (float) plugin.getConfigManager()
-                .getConfig().getDouble("notifications.sound-volume", 1.0);
-        float pitch = (float) plugin.getConfigManager()
-                .getConfig().getDouble("notifications.sound-pitch", 1.0);
-
-        Sound sound = Registry.SOUND_EVENT.get(Objects.requireNonNull(NamespacedKey.fromString(soundName.toLowerCase())));
-        if (sound != null) {
-            player.playSound(player.getLocation(), sound, volume, pitch);
-        } else {
-            plugin.getLogger().warning("Invalid sound configured: " + soundName + " (resolved to null)");
+        if (settings.sound() != null) {
+            player.playSound(player.getLocation(), settings.sound(), settings.soundVolume(), settings.soundPitch());
         }
 
         // Show particles if enabled
-        if (plugin.getConfigManager().getBoolean("notifications.particles-enabled", true)) {
-            String particleName = plugin.getConfigManager()
-                    .getString("notifications.particle-type", "VILLAGER_HAPPY");
-            int particleCount = plugin.getConfigManager()
-                    .getInt("notifications.particle-count", 10);
-
-            Particle particle = Registry.PARTICLE_TYPE.get(Objects.requireNonNull(NamespacedKey.fromString(particleName.toLowerCase())));
-            if (particle != null) {
-                player.spawnParticle(particle, player.getLocation().add(0, 2, 0),
-                        particleCount, 0.5, 0.5, 0.5, 0.1);
-            } else {
-                plugin.getLogger().warning("Invalid particle configured: " + particleName + " (resolved to null)");
-            }
+        if (settings.particle() != null) {
+            player.spawnParticle(settings.particle(), player.getLocation().add(0, 2, 0),
+                    settings.particleCount(), 0.5, 0.5, 0.5, 0.1);
         }
 
         // Auto-open inbox if enabled
-        if (plugin.getConfigManager().isInboxAutoOpenEnabled()) {
-            long delay = plugin.getConfigManager().getInboxAutoOpenDelay();
-
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        if (settings.autoOpenInbox()) {
+            plugin.getMailboxScheduler().runLater(player, () -> {
                 if (player.isOnline() && !player.isDead()) {
-                    new InboxGUI(plugin, player, 0).open();
+                    new InboxGUI(plugin, player).open();
                 }
-            }, delay);
+            }, settings.autoOpenDelayTicks());
         }
     }
 }
\ No newline at end of file
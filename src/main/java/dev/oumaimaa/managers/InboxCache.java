@@ -0,0 +1,538 @@
+package dev.oumaimaa.managers;
+
+import dev.oumaimaa.models.InboxCursor;
+import dev.oumaimaa.models.InboxPage;
+import dev.oumaimaa.models.MailHeader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory inbox cache for online players
+ *
+ * <p>Each tracked player's newest mail headers are kept in inbox order, so
+ * pages and unread counts can be served without a database round trip. The
+ * cache is kept coherent by the mailbox operations themselves, and entries
+ * are dropped when their player quits, when they expire, or least recently
+ * used first when the memory budget is exceeded.</p>
+ *
+ * <p>Read and claim updates only ever move forward, so every recent update is
+ * replayed onto freshly loaded headers. This covers updates still waiting in
+ * the write-behind queue while the headers were read. A load is discarded if
+ * mail was sent to or cleared for its player while it was running.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class InboxCache {
+
+    private static final int MAX_RECENT_CHANGES = 4096;
+    private static final long RECENT_CHANGE_MILLIS = 30_000L;
+    private static final long HEADER_OVERHEAD_BYTES = 192L;
+
+    private final int maxMailsPerPlayer;
+    private final long memoryBudgetBytes;
+    private final long ttlMillis;
+
+    private final Map<UUID, Entry> entries;
+    private final Map<String, MailHeader> index;
+    private final Map<UUID, Long> tracked;
+    private final Map<UUID, Long> generations;
+    private final ArrayDeque<StatusChange> recentChanges;
+    private long usedBytes;
+
+    /**
+     * Constructs a new inbox cache
+     *
+     * @param maxMailsPerPlayer the number of newest mails kept per player
+     * @param memoryBudgetBytes the estimated memory all entries may use together
+     * @param ttlMillis how long an entry is served before it is reloaded
+     */
+    public InboxCache(int maxMailsPerPlayer, long memoryBudgetBytes, long ttlMillis) {
+        this.maxMailsPerPlayer = Math.max(1, maxMailsPerPlayer);
+        this.memoryBudgetBytes = Math.max(0L, memoryBudgetBytes);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.index = new HashMap<>();
+        this.tracked = new HashMap<>();
+        this.generations = new HashMap<>();
+        this.recentChanges = new ArrayDeque<>();
+    }
+
+    /**
+     * Retrieves the number of newest mails kept per player
+     *
+     * @return the maximum number of cached mails per player
+     */
+    public int getMaxMailsPerPlayer() {
+        return maxMailsPerPlayer;
+    }
+
+    /**
+     * Starts caching a player's inbox
+     *
+     * @param player the player's UUID
+     */
+    public synchronized void track(@NotNull UUID player) {
+        tracked.put(player, System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if a player's inbox is being cached
+     *
+     * @param player the player's UUID
+     * @return true if the player is tracked
+     */
+    public synchronized boolean isTracked(@NotNull UUID player) {
+        return tracked.containsKey(player);
+    }
+
+    /**
+     * Retrieves the players whose inbox started being cached before a given time
+     *
+     * @param time the time in milliseconds
+     * @return the players tracked since before that time
+     */
+    public synchronized @NotNull List<UUID> trackedBefore(long time) {
+        List<UUID> players = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : tracked.entrySet()) {
+            if (entry.getValue() < time) {
+                players.add(entry.getKey());
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Checks if a player's inbox is being cached but has no live entry to serve from
+     *
+     * @param player the player's UUID
+     * @return true if the player is tracked and their entry is missing or expired
+     */
+    public synchronized boolean needsLoad(@NotNull UUID player) {
+        return tracked.containsKey(player) && liveEntry(player) == null;
+    }
+
+    /**
+     * Stops caching a player's inbox and drops their entry
+     *
+     * @param player the player's UUID
+     */
+    public synchronized void evict(@NotNull UUID player) {
+        tracked.remove(player);
+        generations.remove(player);
+        removeEntry(player);
+    }
+
+    /**
+     * Drops every entry and stops tracking all players
+     */
+    public synchronized void clear() {
+        entries.clear();
+        index.clear();
+        tracked.clear();
+        generations.clear();
+        recentChanges.clear();
+        usedBytes = 0L;
+    }
+
+    /**
+     * Marks the start of loading a player's inbox from the database
+     *
+     * @param player the player's UUID
+     * @return the ticket to hand to {@link #install(LoadTicket, List, long)}
+     */
+    public synchronized @NotNull LoadTicket beginLoad(@NotNull UUID player) {
+        return new LoadTicket(player, generations.getOrDefault(player, 0L));
+    }
+
+    /**
+     * Installs a player's inbox as loaded from the database
+     *
+     * @param ticket the ticket taken before the load started
+     * @param newestFirst up to {@code maxMailsPerPlayer + 1} headers in inbox order
+     * @param unreadCounter the player's unread counter as read from the database
+     * @return true if the entry was installed, false if it was outdated or the player is no longer tracked
+     */
+    public synchronized boolean install(@NotNull LoadTicket ticket, @NotNull List<MailHeader> newestFirst,
+                                        long unreadCounter) {
+        UUID player = ticket.player();
+        if (!tracked.containsKey(player) || generations.getOrDefault(player, 0L) != ticket.generation()) {
+            return false;
+        }
+        removeEntry(player);
+
+        boolean complete = newestFirst.size() <= maxMailsPerPlayer;
+        Entry entry = new Entry(new ArrayList<>(newestFirst.subList(0, Math.min(newestFirst.size(), maxMailsPerPlayer))),
+                complete, System.currentTimeMillis());
+
+        Map<String, MailHeader> loaded = new HashMap<>();
+        for (MailHeader mail : entry.mails) {
+            loaded.put(mail.getId(), mail);
+        }
+
+        pruneRecentChanges();
+        long replayed = 0L;
+        for (StatusChange change : recentChanges) {
+            MailHeader mail = loaded.get(change.mailId());
+            if (mail != null && apply(mail, change.claimed())) {
+                replayed++;
+            }
+        }
+
+        if (complete) {
+            entry.unread = entry.mails.stream().filter(mail -> !mail.isRead()).count();
+        } else {
+            entry.unread = Math.max(0L, unreadCounter - replayed);
+        }
+
+        for (MailHeader mail : entry.mails) {
+            index.put(mail.getId(), mail);
+            entry.bytes += estimateSize(mail);
+        }
+        entries.put(player, entry);
+        usedBytes += entry.bytes;
+        enforceBudget();
+        return true;
+    }
+
+    /**
+     * Serves a page of a player's inbox from the cache
+     *
+     * <p>Pages follow the same rules as the keyset queries in
+     * {@link MailboxManager#getInbox(UUID, InboxCursor, int)}.</p>
+     *
+     * @param player the player's UUID
+     * @param cursor the cursor to read from, or null for the newest page
+     * @param pageSize the number of messages per page
+     * @return the page, or null if the cache cannot answer it
+     */
+    public synchronized @Nullable InboxPage page(@NotNull UUID player, @Nullable InboxCursor cursor, int pageSize) {
+        Entry entry = liveEntry(player);
+        if (entry == null) {
+            return null;
+        }
+
+        List<MailHeader> mails = entry.mails;
+        if (cursor != null && cursor.direction() == InboxCursor.Direction.OLDER) {
+            int start = firstIndex(mails, cursor.timestamp(), cursor.mailId(), false);
+            if (!entry.covers(start + pageSize + 1)) {
+                return null;
+            }
+            return new InboxPage(copy(mails, start, start + pageSize), true, mails.size() > start + pageSize);
+        }
+
+        if (cursor != null) {
+            int end = firstIndex(mails, cursor.timestamp(), cursor.mailId(), true);
+            if (!entry.covers(end + 1)) {
+                return null;
+            }
+            // More than a page of newer mail, otherwise fall through to the newest page
+            if (end > pageSize) {
+                return new InboxPage(copy(mails, end - pageSize, end), true, true);
+            }
+        }
+
+        if (!entry.covers(pageSize + 1)) {
+            return null;
+        }
+        return new InboxPage(copy(mails, 0, pageSize), false, mails.size() > pageSize);
+    }
+
+    /**
+     * Serves a player's unread mail count from the cache
+     *
+     * @param player the player's UUID
+     * @return the unread count, or null if the player has no live entry
+     */
+    public synchronized @Nullable Long unreadCount(@NotNull UUID player) {
+        Entry entry = liveEntry(player);
+        return entry != null ? entry.unread : null;
+    }
+
+    /**
+     * Adds newly sent mail to its recipient's entry
+     *
+     * @param mail the header of the sent mail
+     */
+    public synchronized void mailSent(@NotNull MailHeader mail) {
+        UUID player = mail.getRecipient();
+        if (!tracked.containsKey(player)) {
+            return;
+        }
+        generations.merge(player, 1L, Long::sum);
+
+        Entry entry = entries.get(player);
+        if (entry == null) {
+            return;
+        }
+
+        MailHeader cached = mail.copy();
+        int position = firstIndex(entry.mails, cached.getTimestamp(), cached.getId(), true);
+        if (position < entry.mails.size() || entry.complete) {
+            entry.mails.add(position, cached);
+            index.put(cached.getId(), cached);
+            addBytes(entry, estimateSize(cached));
+
+            if (entry.mails.size() > maxMailsPerPlayer) {
+                MailHeader dropped = entry.mails.removeLast();
+                index.remove(dropped.getId());
+                addBytes(entry, -estimateSize(dropped));
+                entry.complete = false;
+            }
+        }
+
+        if (!cached.isRead()) {
+            entry.unread++;
+        }
+        enforceBudget();
+    }
+
+    /**
+     * Applies a read or claim update to the cached mail it concerns
+     *
+     * @param mailId the mail ID
+     * @param claimed whether the items were claimed as well
+     */
+    public synchronized void mailRead(@NotNull String mailId, boolean claimed) {
+        pruneRecentChanges();
+        recentChanges.addLast(new StatusChange(mailId, claimed, System.currentTimeMillis()));
+        if (recentChanges.size() > MAX_RECENT_CHANGES) {
+            recentChanges.removeFirst();
+        }
+
+        MailHeader mail = index.get(mailId);
+        if (mail == null) {
+            return;
+        }
+
+        Entry entry = entries.get(mail.getRecipient());
+        if (entry != null && apply(mail, claimed)) {
+            entry.unread = Math.max(0L, entry.unread - 1);
+        }
+    }
+
+    /**
+     * Removes read mail from a player's entry after it was deleted
+     *
+     * @param player the player's UUID
+     */
+    public synchronized void readMailDeleted(@NotNull UUID player) {
+        if (!tracked.containsKey(player)) {
+            return;
+        }
+        generations.merge(player, 1L, Long::sum);
+
+        Entry entry = entries.get(player);
+        if (entry == null) {
+            return;
+        }
+
+        Iterator<MailHeader> iterator = entry.mails.iterator();
+        while (iterator.hasNext()) {
+            MailHeader mail = iterator.next();
+            if (mail.isRead()) {
+                iterator.remove();
+                index.remove(mail.getId());
+                addBytes(entry, -estimateSize(mail));
+            }
+        }
+    }
+
+    /**
+     * Retrieves an entry that has not expired, dropping it if it has
+     *
+     * @param player the player's UUID
+     * @return the entry, or null if there is none
+     */
+    private @Nullable Entry liveEntry(@NotNull UUID player) {
+        Entry entry = entries.get(player);
+        if (entry != null && ttlMillis > 0 && System.currentTimeMillis() - entry.loadedAt > ttlMillis) {
+            removeEntry(player);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Removes a player's entry and its index and memory accounting
+     *
+     * @param player the player's UUID
+     */
+    private void removeEntry(@NotNull UUID player) {
+        Entry entry = entries.remove(player);
+        if (entry == null) {
+            return;
+        }
+
+        for (MailHeader mail : entry.mails) {
+            index.remove(mail.getId());
+        }
+        usedBytes -= entry.bytes;
+    }
+
+    /**
+     * Evicts least recently used entries until the memory budget is met
+     */
+    private void enforceBudget() {
+        while (usedBytes > memoryBudgetBytes && !entries.isEmpty()) {
+            removeEntry(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Drops status changes too old to still be pending in the write-behind queue
+     */
+    private void pruneRecentChanges() {
+        long cutoff = System.currentTimeMillis() - RECENT_CHANGE_MILLIS;
+        while (!recentChanges.isEmpty() && recentChanges.peekFirst().at() < cutoff) {
+            recentChanges.removeFirst();
+        }
+    }
+
+    /**
+     * Adjusts the estimated size of an entry
+     *
+     * @param entry the entry
+     * @param delta the number of bytes to add
+     */
+    private void addBytes(@NotNull Entry entry, long delta) {
+        entry.bytes += delta;
+        usedBytes += delta;
+    }
+
+    /**
+     * Applies a read or claim update to a header
+     *
+     * @param mail the header
+     * @param claimed whether the items were claimed as well
+     * @return true if the mail was unread before
+     */
+    private static boolean apply(@NotNull MailHeader mail, boolean claimed) {
+        boolean wasUnread = !mail.isRead();
+        mail.setRead(true);
+        if (claimed) {
+            mail.setItemsClaimed(true);
+        }
+        return wasUnread;
+    }
+
+    /**
+     * Finds the first position at or after a key in a newest-first header list
+     *
+     * @param mails the headers in inbox order
+     * @param timestamp the key's timestamp
+     * @param mailId the key's mail ID
+     * @param inclusive whether a header equal to the key is included
+     * @return the index of the first header older than, or equal to if inclusive, the key
+     */
+    private static int firstIndex(@NotNull List<MailHeader> mails, long timestamp, @NotNull String mailId,
+                                  boolean inclusive) {
+        int low = 0;
+        int high = mails.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            MailHeader mail = mails.get(mid);
+            int cmp = Long.compare(timestamp, mail.getTimestamp());
+            if (cmp == 0) {
+                cmp = mailId.compareTo(mail.getId());
+            }
+            if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copies a range of headers so callers cannot change the cached ones
+     *
+     * @param mails the headers
+     * @param from the start index, inclusive
+     * @param to the end index, exclusive, clamped to the list size
+     * @return the copied headers
+     */
+    private static @NotNull List<MailHeader> copy(@NotNull List<MailHeader> mails, int from, int to) {
+        int end = Math.min(to, mails.size());
+        List<MailHeader> copies = new ArrayList<>(Math.max(0, end - from));
+        for (int i = from; i < end; i++) {
+            copies.add(mails.get(i).copy());
+        }
+        return copies;
+    }
+
+    /**
+     * Estimates the memory retained by a cached header
+     *
+     * @param mail the header
+     * @return the estimated size in bytes
+     */
+    private static long estimateSize(@NotNull MailHeader mail) {
+        long characters = mail.getId().length() + mail.getMessage().length()
+                + mail.getSenderName().length() + mail.getRecipientName().length();
+        return HEADER_OVERHEAD_BYTES + 2L * characters;
+    }
+
+    /**
+     * Identifies a load started at a particular point in a player's history
+     *
+     * @param player the player's UUID
+     * @param generation the number of sends and clears seen for the player when the load started
+     */
+    public record LoadTicket(UUID player, long generation) {
+    }
+
+    /**
+     * A read or claim update remembered for replay onto loads
+     *
+     * @param mailId the mail ID
+     * @param claimed whether the items were claimed as well
+     * @param at the time the update was made
+     */
+    private record StatusChange(String mailId, boolean claimed, long at) {
+    }
+
+    /**
+     * A player's cached headers
+     */
+    private static final class Entry {
+        private final List<MailHeader> mails;
+        private final long loadedAt;
+        private boolean complete;
+        private long unread;
+        private long bytes;
+
+        /**
+         * Constructs a new entry
+         *
+         * @param mails the newest headers in inbox order
+         * @param complete whether the headers are the whole inbox
+         * @param loadedAt the time the headers were loaded
+         */
+        private Entry(List<MailHeader> mails, boolean complete, long loadedAt) {
+            this.mails = mails;
+            this.complete = complete;
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * Checks if the first {@code count} headers of the inbox are all cached
+         *
+         * @param count the number of headers needed
+         * @return true if the entry holds them or the whole inbox
+         */
+        private boolean covers(int count) {
+            return complete || mails.size() >= count;
+        }
+    }
+}
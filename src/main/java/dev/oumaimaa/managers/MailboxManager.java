@@ -1,32 +1,116 @@
 package dev.oumaimaa.managers;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Facet;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
 import dev.oumaimaa.Main;
+import dev.oumaimaa.concurrent.MailboxExecutor;
+import dev.oumaimaa.concurrent.PlayerLanes;
+import dev.oumaimaa.concurrent.SingleFlight;
+import dev.oumaimaa.database.AttachmentDictionaryStore;
+import dev.oumaimaa.database.AttachmentMigration;
+import dev.oumaimaa.database.MailHeaderDecoder;
+import dev.oumaimaa.models.AttachmentCompressor;
+import dev.oumaimaa.models.AttachmentDictionaryTrainer;
+import dev.oumaimaa.models.InboxCursor;
+import dev.oumaimaa.models.InboxPage;
+import dev.oumaimaa.models.ItemStackSerializer;
 import dev.oumaimaa.models.Mail;
+import dev.oumaimaa.models.MailHeader;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.conversions.Bson;
+import org.bukkit.Bukkit;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Manages all mailbox operations including sending, retrieving, and updating mail
  *
  * <p>This class provides asynchronous methods for all mail-related operations
- * to prevent blocking the main server thread during database operations.</p>
+ * to prevent blocking the main server thread during database operations.
+ * Operations run on a plugin-owned {@link MailboxExecutor}.</p>
+ *
+ * <p>Operations on a player's mailbox go through that player's
+ * {@link PlayerLanes} lane, so claiming items, clearing read mail and loading
+ * inbox pages for the same player never interleave, while different players'
+ * operations still run in parallel.</p>
+ *
+ * <p>Identical inbox and unread count reads that are already in flight are
+ * shared through a {@link SingleFlight} group instead of being queried
+ * again.</p>
  *
  * @author oumaimaa
  * @version 1.0.0
  */
 public class MailboxManager {
 
+    /**
+     * Projection returning every mail field except the attachments, which are replaced by their count
+     */
+    private static final Bson HEADER_PROJECTION = Projections.fields(
+            Projections.include("sender", "senderName", "recipient", "recipientName",
+                    "message", "timestamp", "read", "itemsClaimed"),
+            Projections.computed("attachmentCount",
+                    new Document("$size", new Document("$ifNull", List.of("$items", List.of()))))
+    );
+
+    /**
+     * Decoder for the documents returned by {@link #HEADER_PROJECTION}
+     */
+    private static final MailHeaderDecoder HEADER_DECODER = new MailHeaderDecoder();
+
+    /**
+     * Number of cached statistics entries above which expired entries are purged
+     */
+    private static final int MAX_CACHED_STATS = 1024;
+
+    /**
+     * Margin kept behind the newest counter update seen, covering counters committed late with an earlier time
+     */
+    private static final long UNREAD_FILTER_SKEW_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Time a preloaded inbox is kept for a player who has not joined yet
+     */
+    private static final long PRELOAD_GRACE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
     private final Main plugin;
+    private final MailboxExecutor executor;
+    private final PlayerLanes lanes;
+    private final SingleFlight<ReadKey> reads;
+    private final StatusWriteBehindQueue statusUpdates;
+    private final InboxCache inboxCache;
+    private final AtomicLong unreadFilterWatermark;
+    private volatile UnreadRecipientFilter unreadFilter;
+    private volatile UnreadRecipientFilter rebuildingFilter;
+    private volatile long unreadRecipientCount;
+    private final Map<UUID, CachedStats> statsCache;
+    private final long statsCacheTtlMillis;
 
     /**
      * Constructs a new mailbox manager
@@ -35,6 +119,193 @@ public class MailboxManager {
      */
     public MailboxManager(Main plugin) {
         this.plugin = plugin;
+        this.executor = new MailboxExecutor(plugin.getLogger(),
+                plugin.getConfigManager().getInt("database.max-concurrent-operations", 16),
+                plugin.getConfigManager().getInt("database.max-pending-operations", 1000));
+        this.lanes = new PlayerLanes(executor);
+        this.reads = new SingleFlight<>();
+        this.statusUpdates = new StatusWriteBehindQueue(plugin,
+                plugin.getConfigManager().getInt("database.status-flush-interval-ms", 50),
+                plugin.getConfigManager().getInt("database.status-batch-size", 100));
+        this.inboxCache = new InboxCache(
+                plugin.getConfigManager().getInt("inbox.cache-max-mails", 270),
+                plugin.getConfigManager().getInt("inbox.cache-memory-budget-mb", 32) * 1024L * 1024L,
+                TimeUnit.SECONDS.toMillis(plugin.getConfigManager().getInt("inbox.cache-ttl-seconds", 300)));
+        this.unreadFilterWatermark = new AtomicLong();
+        this.statsCache = new ConcurrentHashMap<>();
+        this.statsCacheTtlMillis = TimeUnit.SECONDS.toMillis(
+                plugin.getConfigManager().getInt("database.stats-cache-seconds", 30));
+    }
+
+    /**
+     * Runs a database operation on the mailbox executor
+     *
+     * <p>If the executor rejects the operation because its backlog is full, the
+     * returned future completes immediately with the fallback value.</p>
+     *
+     * @param task the operation to run
+     * @param fallback the value to complete with if the operation is rejected
+     * @param <T> the result type
+     * @return a CompletableFuture containing the operation result
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task, T fallback) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("Mailbox operation rejected: " + e.getMessage());
+            return CompletableFuture.completedFuture(fallback);
+        }
+    }
+
+    /**
+     * Runs a database operation for a player on the mailbox executor
+     *
+     * <p>The operation waits in the player's lane until every operation
+     * submitted for that player before it has completed. If the executor
+     * rejects the operation because its backlog is full, the returned future
+     * completes with the fallback value.</p>
+     *
+     * @param player the UUID of the player the operation is for
+     * @param task the operation to run
+     * @param fallback the value to complete with if the operation is rejected
+     * @param <T> the result type
+     * @return a CompletableFuture containing the operation result
+     */
+    private <T> CompletableFuture<T> supplyAsync(UUID player, Supplier<T> task, T fallback) {
+        return lanes.supply(player, task).exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RejectedExecutionException) {
+                plugin.getLogger().warning("Mailbox operation rejected: " + cause.getMessage());
+                return fallback;
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        });
+    }
+
+    /**
+     * Retrieves the executor running all mailbox database operations
+     *
+     * @return the mailbox executor
+     */
+    public MailboxExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Stops accepting new operations, waits for running ones to complete and
+     * writes any queued status updates
+     */
+    public void shutdown() {
+        executor.shutdown(5, TimeUnit.SECONDS);
+        statusUpdates.shutdown();
+        inboxCache.clear();
+    }
+
+    /**
+     * Starts caching a player's inbox and loads it asynchronously
+     *
+     * @param player the player's UUID
+     * @return a CompletableFuture containing true if the inbox was loaded into the cache
+     */
+    public CompletableFuture<Boolean> warmInbox(UUID player) {
+        inboxCache.track(player);
+        return supplyAsync(player, () -> {
+            try {
+                return loadInbox(player);
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to load inbox into cache: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        }, false);
+    }
+
+    /**
+     * Starts caching a player's inbox and waits for it to load
+     *
+     * <p>This blocks the calling thread and must not be used on the main
+     * server thread.</p>
+     *
+     * @param player the player's UUID
+     * @param timeoutMillis the maximum time to wait for the load
+     * @return true if the inbox was loaded into the cache in time
+     */
+    public boolean preloadInbox(UUID player, long timeoutMillis) {
+        try {
+            return warmInbox(player).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Timed out preloading inbox of " + player);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves a player's unread mail count if their inbox is cached
+     *
+     * @param player the player's UUID
+     * @return the cached unread count, or null if it is not cached
+     */
+    public @Nullable Long getCachedUnreadCount(UUID player) {
+        return inboxCache.unreadCount(player);
+    }
+
+    /**
+     * Stops caching a player's inbox and releases its memory
+     *
+     * @param player the player's UUID
+     */
+    public void evictInbox(UUID player) {
+        inboxCache.evict(player);
+    }
+
+    /**
+     * Periodically releases the cached inboxes of players who are not online
+     *
+     * <p>Inboxes are preloaded while players log in, but a connection that is
+     * dropped after login and before joining never fires a quit event. Such
+     * inboxes are released once the preload grace period has passed.</p>
+     */
+    public void startInboxCacheSweep() {
+        long periodTicks = TimeUnit.MILLISECONDS.toSeconds(PRELOAD_GRACE_MILLIS) * 20L;
+        plugin.getMailboxScheduler().runTimer(() -> {
+            for (UUID player : inboxCache.trackedBefore(System.currentTimeMillis() - PRELOAD_GRACE_MILLIS)) {
+                if (Bukkit.getPlayer(player) == null) {
+                    inboxCache.evict(player);
+                }
+            }
+        }, periodTicks, periodTicks);
+    }
+
+    /**
+     * Loads a tracked player's newest mail headers and unread count into the cache
+     *
+     * @param player the player's UUID
+     * @return true if the inbox was installed in the cache
+     */
+    private boolean loadInbox(@NotNull UUID player) {
+        if (!inboxCache.isTracked(player) || !plugin.getMongoDBManager().isConnected()) {
+            return false;
+        }
+
+        MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
+        MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+        if (collection == null || counters == null) {
+            return false;
+        }
+
+        InboxCache.LoadTicket ticket = inboxCache.beginLoad(player);
+        List<MailHeader> mails = findInboxSlice(collection, player, null, inboxCache.getMaxMailsPerPlayer() + 1);
+        // Always read the counter: mail sent from another server may not have reached the filter yet
+        long unread = readUnreadCounter(counters, player);
+        if (unread > 0) {
+            recordUnread(player);
+        }
+        return inboxCache.install(ticket, mails, unread);
     }
 
     /**
@@ -50,14 +321,15 @@ public class MailboxManager {
      */
     public CompletableFuture<Mail> sendMail(UUID sender, String senderName, UUID recipient,
                                             String recipientName, String message, List<ItemStack> items) {
-        return CompletableFuture.supplyAsync(() -> {
+        forgetReads(recipient);
+        return supplyAsync(recipient, () -> {
             try {
                 if (!plugin.getMongoDBManager().isConnected()) {
                     plugin.getLogger().warning("Cannot send mail - MongoDB not connected");
                     return null;
                 }
 
-                MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
+                MongoCollection<Mail> collection = plugin.getMongoDBManager().getMailCollection();
                 if (collection == null) {
                     return null;
                 }
@@ -68,7 +340,11 @@ public class MailboxManager {
                 Mail mail = new Mail(id, sender, senderName, recipient, recipientName,
                         message, timestamp, false, false, items);
 
-                collection.insertOne(mail.toDocument());
+                collection.insertOne(mail);
+                adjustUnreadCounter(recipient.toString(), 1);
+                recordUnread(recipient);
+                inboxCache.mailSent(MailHeader.of(mail));
+                invalidateStats(sender, recipient);
                 plugin.getLogger().info("Mail sent from " + senderName + " to " + recipientName);
 
                 return mail;
@@ -77,171 +353,520 @@ public class MailboxManager {
                 e.printStackTrace();
                 return null;
             }
-        });
+        }, null);
     }
 
     /**
-     * Retrieves all mail for a specific recipient asynchronously
+     * Retrieves a page of mail for a specific recipient asynchronously
+     *
+     * <p>Pages are read with keyset pagination on {@code (timestamp, _id)}, so every
+     * page costs the same index seek regardless of how deep the player has browsed.
+     * Only mail headers are returned; attachments stay on the server until
+     * {@link #getAttachments(UUID, String)} is called.</p>
+     *
+     * <p>Pages of online players are served from the inbox cache whenever it
+     * holds them, straight away if no other operation for the recipient is
+     * pending, or otherwise once the pending operations have completed. A
+     * request for a page that is already being read shares that read.</p>
      *
      * @param recipient the recipient's UUID
-     * @param page the page number (0-indexed)
+     * @param cursor the cursor to read from, or null for the newest page
      * @param pageSize the number of messages per page
-     * @return a CompletableFuture containing the list of Mail
+     * @return a CompletableFuture containing the inbox page
      */
-    public CompletableFuture<List<Mail>> getInbox(UUID recipient, int page, int pageSize) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Mail> mailList = new ArrayList<>();
+    public CompletableFuture<InboxPage> getInbox(UUID recipient, @Nullable InboxCursor cursor, int pageSize) {
+        InboxPage cached = lanes.isIdle(recipient) ? inboxCache.page(recipient, cursor, pageSize) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        ReadKey key = new ReadKey(ReadKey.Operation.INBOX, recipient, cursor, pageSize);
+        return reads.share(key, () -> supplyAsync(recipient, () -> {
             try {
+                // The operations queued before this read have updated the cache by now
+                InboxPage page = inboxCache.page(recipient, cursor, pageSize);
+                if (page != null) {
+                    return page;
+                }
+
                 if (!plugin.getMongoDBManager().isConnected()) {
                     plugin.getLogger().warning("Cannot retrieve inbox - MongoDB not connected");
-                    return mailList;
+                    return InboxPage.empty();
+                }
+
+                // Reload a dropped entry; pages outside a live entry go straight to the database
+                if (inboxCache.needsLoad(recipient) && loadInbox(recipient)) {
+                    page = inboxCache.page(recipient, cursor, pageSize);
+                    if (page != null) {
+                        return page;
+                    }
                 }
 
                 MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
                 if (collection == null) {
-                    return mailList;
+                    return InboxPage.empty();
                 }
 
-                Bson filter = Filters.eq("recipient", recipient.toString());
-                int skip = page * pageSize;
+                if (cursor == null) {
+                    List<MailHeader> mails = findInboxSlice(collection, recipient, null, pageSize + 1);
+                    boolean hasOlder = trimToPageSize(mails, pageSize);
+                    return new InboxPage(mails, false, hasOlder);
+                }
 
-                collection.find(filter)
-                        .sort(Sorts.descending("timestamp"))
-                        .skip(skip)
-                        .limit(pageSize)
-                        .forEach(doc -> mailList.add(Mail.fromDocument(doc)));
+                List<MailHeader> mails = findInboxSlice(collection, recipient, cursor, pageSize + 1);
+                boolean hasMore = trimToPageSize(mails, pageSize);
 
+                if (cursor.direction() == InboxCursor.Direction.OLDER) {
+                    return new InboxPage(mails, true, hasMore);
+                }
+
+                // Fewer newer mails than a full page means we reached the top of the inbox
+                if (!hasMore) {
+                    List<MailHeader> newest = findInboxSlice(collection, recipient, null, pageSize + 1);
+                    boolean hasOlder = trimToPageSize(newest, pageSize);
+                    return new InboxPage(newest, false, hasOlder);
+                }
+
+                Collections.reverse(mails);
+                return new InboxPage(mails, true, true);
             } catch (Exception e) {
                 plugin.getLogger().severe("Failed to retrieve inbox: " + e.getMessage());
                 e.printStackTrace();
+                return InboxPage.empty();
             }
-            return mailList;
-        });
+        }, InboxPage.empty()));
+    }
+
+    /**
+     * Reads a slice of a recipient's inbox headers starting at the given cursor
+     *
+     * <p>The {@code items} array is replaced by its size in the projection, so
+     * attachments never leave the database server.</p>
+     *
+     * <p>Slices read in {@link InboxCursor.Direction#NEWER} order are returned
+     * oldest first and must be reversed by the caller.</p>
+     *
+     * @param collection the mailbox collection
+     * @param recipient the recipient's UUID
+     * @param cursor the cursor to read from, or null for the newest mail
+     * @param limit the maximum number of mails to read
+     * @return the mail headers in the slice
+     */
+    private @NotNull List<MailHeader> findInboxSlice(@NotNull MongoCollection<Document> collection, @NotNull UUID recipient,
+                                               @Nullable InboxCursor cursor, int limit) {
+        Bson filter = Filters.eq("recipient", recipient.toString());
+        Bson sort = Sorts.descending("timestamp", "_id");
+
+        if (cursor != null) {
+            if (cursor.direction() == InboxCursor.Direction.OLDER) {
+                filter = Filters.and(filter,
+                        Filters.lte("timestamp", cursor.timestamp()),
+                        Filters.or(
+                                Filters.lt("timestamp", cursor.timestamp()),
+                                Filters.lt("_id", cursor.mailId())
+                        ));
+            } else {
+                filter = Filters.and(filter,
+                        Filters.gte("timestamp", cursor.timestamp()),
+                        Filters.or(
+                                Filters.gt("timestamp", cursor.timestamp()),
+                                Filters.gt("_id", cursor.mailId())
+                        ));
+                sort = Sorts.ascending("timestamp", "_id");
+            }
+        }
+
+        List<MailHeader> mails = new ArrayList<>(limit);
+        collection.aggregate(List.of(
+                Aggregates.match(filter),
+                Aggregates.sort(sort),
+                Aggregates.limit(limit),
+                Aggregates.project(HEADER_PROJECTION)
+        ), RawBsonDocument.class).forEach(document -> mails.add(HEADER_DECODER.decode(document)));
+        return mails;
+    }
+
+    /**
+     * Removes the look-ahead entry from a slice read with {@code pageSize + 1}
+     *
+     * @param mails the slice to trim
+     * @param pageSize the number of messages per page
+     * @return true if the slice contained more than a page of mail
+     */
+    private boolean trimToPageSize(@NotNull List<MailHeader> mails, int pageSize) {
+        if (mails.size() <= pageSize) {
+            return false;
+        }
+        mails.subList(pageSize, mails.size()).clear();
+        return true;
     }
 
     /**
      * Counts unread mail for a specific recipient asynchronously
      *
+     * <p>The count is served from the inbox cache for online players, once
+     * any operation pending for them has completed. Recipients the unread
+     * filter has never seen are answered without any lookup, and the rest are
+     * read from their counter document by {@code _id} rather than by counting
+     * mail documents. Mail sent from another server is only counted once the
+     * filter's next refresh has seen it. A request made while the recipient's count
+     * is already being read shares that read.</p>
+     *
      * @param recipient the recipient's UUID
      * @return a CompletableFuture containing the count of unread messages
      */
     public CompletableFuture<Long> countUnreadMail(UUID recipient) {
-        return CompletableFuture.supplyAsync(() -> {
+        Long cached = lanes.isIdle(recipient) ? inboxCache.unreadCount(recipient) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (!mightHaveUnread(recipient)) {
+            return CompletableFuture.completedFuture(0L);
+        }
+
+        ReadKey key = new ReadKey(ReadKey.Operation.UNREAD_COUNT, recipient, null, 0);
+        return reads.share(key, () -> supplyAsync(recipient, () -> {
             try {
+                // The operations queued before this read have updated the cache by now
+                Long count = inboxCache.unreadCount(recipient);
+                if (count != null) {
+                    return count;
+                }
+
                 if (!plugin.getMongoDBManager().isConnected()) {
                     return 0L;
                 }
 
-                MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
-                if (collection == null) {
+                MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+                if (counters == null) {
                     return 0L;
                 }
 
-                Bson filter = Filters.and(
-                        Filters.eq("recipient", recipient.toString()),
-                        Filters.eq("read", false)
-                );
-
-                return collection.countDocuments(filter);
+                return readUnreadCounter(counters, recipient);
             } catch (Exception e) {
                 plugin.getLogger().severe("Failed to count unread mail: " + e.getMessage());
                 e.printStackTrace();
                 return 0L;
             }
-        });
+        }, 0L));
     }
 
     /**
-     * Retrieves a specific mail by ID asynchronously
+     * Counts unread mail for several recipients asynchronously
      *
-     * @param mailId the mail ID
-     * @return a CompletableFuture containing the Mail, or null if not found
+     * <p>Counts cached for online players are used as they are; the remaining
+     * recipients are resolved together with a single {@code $in} query on the
+     * counter collection. The unread filter is not consulted, since these are
+     * players joining who may have been sent mail from another server since
+     * its last refresh.</p>
+     *
+     * @param recipients the recipients' UUIDs
+     * @return a CompletableFuture containing the unread count of every recipient
      */
-    public CompletableFuture<Mail> getMailById(String mailId) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<Map<UUID, Long>> countUnreadMail(Collection<UUID> recipients) {
+        Map<UUID, Long> counts = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (UUID recipient : recipients) {
+            Long cached = inboxCache.unreadCount(recipient);
+            counts.put(recipient, cached != null ? cached : 0L);
+            if (cached == null) {
+                uncached.add(recipient.toString());
+            }
+        }
+        if (uncached.isEmpty()) {
+            return CompletableFuture.completedFuture(counts);
+        }
+
+        return supplyAsync(() -> {
             try {
                 if (!plugin.getMongoDBManager().isConnected()) {
-                    return null;
+                    return counts;
                 }
 
-                MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
-                if (collection == null) {
-                    return null;
+                MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+                if (counters == null) {
+                    return counts;
                 }
 
-                Document doc = collection.find(Filters.eq("_id", mailId)).first();
-                return doc != null ? Mail.fromDocument(doc) : null;
+                counters.find(Filters.in("_id", uncached))
+                        .projection(Projections.include("unread"))
+                        .forEach(counter -> {
+                            UUID recipient = UUID.fromString(counter.getString("_id"));
+                            long unread = Math.max(0L, counter.get("unread", Number.class).longValue());
+                            counts.put(recipient, unread);
+                            if (unread > 0) {
+                                recordUnread(recipient);
+                            }
+                        });
+                return counts;
             } catch (Exception e) {
-                plugin.getLogger().severe("Failed to retrieve mail: " + e.getMessage());
+                plugin.getLogger().severe("Failed to count unread mail: " + e.getMessage());
                 e.printStackTrace();
-                return null;
+                return counts;
             }
-        });
+        }, counts);
     }
 
     /**
-     * Marks a mail as read asynchronously
+     * Builds the unread recipient filter and keeps it up to date
      *
-     * @param mailId the mail ID
-     * @return a CompletableFuture containing true if successful, false otherwise
+     * <p>The filter is refreshed with counters changed by any server at a short
+     * interval, and rebuilt from scratch less often so recipients who have read
+     * all their mail drop out of it again.</p>
+     */
+    public void startUnreadFilter() {
+        rebuildUnreadFilter();
+
+        long refreshTicks = Math.max(1L, plugin.getConfigManager().getInt("database.unread-filter-refresh-seconds", 10)) * 20L;
+        long rebuildTicks = Math.max(1L, plugin.getConfigManager().getInt("database.unread-filter-rebuild-minutes", 60)) * 1200L;
+        plugin.getMailboxScheduler().runTimer(this::refreshUnreadFilter, refreshTicks, refreshTicks);
+        plugin.getMailboxScheduler().runTimer(this::rebuildUnreadFilter, rebuildTicks, rebuildTicks);
+    }
+
+    /**
+     * Rebuilds the unread recipient filter from every counter with unread mail asynchronously
+     *
+     * <p>Recipients recorded while the scan is running are added to both the
+     * current and the new filter, so none are lost when the new one takes over.</p>
+     *
+     * @return a CompletableFuture containing true if the filter was rebuilt
      */
-    public CompletableFuture<Boolean> markAsRead(String mailId) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<Boolean> rebuildUnreadFilter() {
+        return supplyAsync(() -> {
             try {
                 if (!plugin.getMongoDBManager().isConnected()) {
                     return false;
                 }
 
-                MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
-                if (collection == null) {
+                MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+                if (counters == null) {
                     return false;
                 }
 
-                Bson filter = Filters.eq("_id", mailId);
-                Bson update = Updates.set("read", true);
+                long expected = Math.max(plugin.getConfigManager().getInt("database.unread-filter-expected-recipients", 100000),
+                        unreadRecipientCount * 2);
+                UnreadRecipientFilter filter = new UnreadRecipientFilter(expected, 0.01);
+                rebuildingFilter = filter;
 
-                collection.updateOne(filter, update);
+                long count = 0L;
+                for (Document counter : counters.find(Filters.gt("unread", 0))
+                        .projection(Projections.include("updatedAt"))
+                        .batchSize(1000)) {
+                    filter.add(UUID.fromString(counter.getString("_id")));
+                    advanceWatermark(counter.getDate("updatedAt"));
+                    count++;
+                }
+
+                unreadRecipientCount = count;
+                unreadFilter = filter;
+                rebuildingFilter = null;
                 return true;
             } catch (Exception e) {
-                plugin.getLogger().severe("Failed to mark mail as read: " + e.getMessage());
+                rebuildingFilter = null;
+                plugin.getLogger().severe("Failed to build unread recipient filter: " + e.getMessage());
                 e.printStackTrace();
                 return false;
             }
-        });
+        }, false);
     }
 
     /**
-     * Marks items as claimed for a specific mail asynchronously
+     * Adds recipients whose counters changed since the last refresh to the filter asynchronously
+     *
+     * <p>This picks up mail sent from other servers sharing the database.</p>
+     *
+     * @return a CompletableFuture containing the number of recipients added
+     */
+    public CompletableFuture<Long> refreshUnreadFilter() {
+        if (unreadFilter == null) {
+            return CompletableFuture.completedFuture(0L);
+        }
+
+        return supplyAsync(() -> {
+            try {
+                if (!plugin.getMongoDBManager().isConnected()) {
+                    return 0L;
+                }
+
+                MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+                if (counters == null) {
+                    return 0L;
+                }
+
+                long added = 0L;
+                for (Document counter : counters.find(Filters.and(
+                                Filters.gt("unread", 0),
+                                Filters.gte("updatedAt", new Date(unreadFilterWatermark.get()))))
+                        .projection(Projections.include("updatedAt"))) {
+                    recordUnread(UUID.fromString(counter.getString("_id")));
+                    advanceWatermark(counter.getDate("updatedAt"));
+                    added++;
+                }
+                return added;
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to refresh unread recipient filter: " + e.getMessage());
+                e.printStackTrace();
+                return 0L;
+            }
+        }, 0L);
+    }
+
+    /**
+     * Checks the unread recipient filter for a recipient
+     *
+     * @param recipient the recipient's UUID
+     * @return false if the recipient definitely has no unread mail
+     */
+    private boolean mightHaveUnread(@NotNull UUID recipient) {
+        UnreadRecipientFilter filter = unreadFilter;
+        return filter == null || filter.mightHaveUnread(recipient);
+    }
+
+    /**
+     * Records a recipient with unread mail in the filter and any filter being rebuilt
+     *
+     * @param recipient the recipient's UUID
+     */
+    private void recordUnread(@NotNull UUID recipient) {
+        UnreadRecipientFilter building = rebuildingFilter;
+        if (building != null) {
+            building.add(recipient);
+        }
+
+        UnreadRecipientFilter filter = unreadFilter;
+        if (filter != null) {
+            filter.add(recipient);
+        }
+    }
+
+    /**
+     * Moves the refresh watermark forward to a counter's update time, minus the skew margin
+     *
+     * <p>The watermark only follows update times actually read from the
+     * database, never the local clock, and stays a margin behind them. A
+     * counter committed after a refresh read it, with an update time just
+     * before the newest one seen, is still picked up by the next refresh.</p>
+     *
+     * @param updatedAt the counter's update time, may be null
+     */
+    private void advanceWatermark(@Nullable Date updatedAt) {
+        if (updatedAt != null) {
+            unreadFilterWatermark.accumulateAndGet(updatedAt.getTime() - UNREAD_FILTER_SKEW_MILLIS, Math::max);
+        }
+    }
+
+    /**
+     * Reads a recipient's unread counter document
+     *
+     * @param counters the counters collection
+     * @param recipient the recipient's UUID
+     * @return the unread count, never negative
+     */
+    private long readUnreadCounter(@NotNull MongoCollection<Document> counters, @NotNull UUID recipient) {
+        Document counter = counters.find(Filters.eq("_id", recipient.toString()))
+                .projection(Projections.include("unread"))
+                .first();
+        return counter != null ? Math.max(0L, counter.get("unread", Number.class).longValue()) : 0L;
+    }
+
+    /**
+     * Retrieves a specific mail by ID asynchronously
      *
      * @param mailId the mail ID
-     * @return a CompletableFuture containing true if successful, false otherwise
+     * @return a CompletableFuture containing the Mail, or null if not found
      */
-    public CompletableFuture<Boolean> markItemsClaimed(String mailId) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<Mail> getMailById(String mailId) {
+        return supplyAsync(() -> {
             try {
                 if (!plugin.getMongoDBManager().isConnected()) {
-                    return false;
+                    return null;
                 }
 
-                MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
+                MongoCollection<Mail> collection = plugin.getMongoDBManager().getMailCollection();
                 if (collection == null) {
-                    return false;
+                    return null;
                 }
 
-                Bson filter = Filters.eq("_id", mailId);
-                Bson update = Updates.combine(
-                        Updates.set("itemsClaimed", true),
-                        Updates.set("read", true)
-                );
+                return collection.find(Filters.eq("_id", mailId)).first();
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to retrieve mail: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            }
+        }, null);
+    }
 
-                collection.updateOne(filter, update);
-                return true;
+    /**
+     * Retrieves and deserializes the attachments of a specific mail asynchronously
+     *
+     * @param recipient the UUID of the mail's recipient
+     * @param mailId the mail ID
+     * @return a CompletableFuture containing the attached items, empty if none or not found
+     */
+    public CompletableFuture<List<ItemStack>> getAttachments(UUID recipient, String mailId) {
+        return supplyAsync(recipient, () -> {
+            try {
+                if (!plugin.getMongoDBManager().isConnected()) {
+                    return List.of();
+                }
+
+                MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
+                if (collection == null) {
+                    return List.of();
+                }
+
+                Document doc = collection.find(Filters.eq("_id", mailId))
+                        .projection(Projections.include("items"))
+                        .first();
+                return doc != null ? Mail.itemsFromDocument(doc) : List.of();
             } catch (Exception e) {
-                plugin.getLogger().severe("Failed to mark items as claimed: " + e.getMessage());
+                plugin.getLogger().severe("Failed to retrieve attachments: " + e.getMessage());
                 e.printStackTrace();
-                return false;
+                return List.of();
             }
-        });
+        }, List.of());
+    }
+
+    /**
+     * Marks a mail as read asynchronously
+     *
+     * <p>The update is coalesced with other status updates and written in the
+     * next write-behind flush. The recipient's later operations wait until it
+     * is written.</p>
+     *
+     * @param recipient the UUID of the mail's recipient
+     * @param mailId the mail ID
+     * @return a CompletableFuture containing true if successful, false otherwise
+     */
+    public CompletableFuture<Boolean> markAsRead(UUID recipient, String mailId) {
+        inboxCache.mailRead(mailId, false);
+        forgetReads(recipient);
+        return lanes.compose(recipient, () -> statusUpdates.markRead(mailId)
+                .whenComplete((success, error) -> invalidateStats(recipient)));
+    }
+
+    /**
+     * Marks items as claimed for a specific mail asynchronously
+     *
+     * <p>The update is written in the next write-behind flush. The recipient's
+     * later operations, such as clearing read mail, wait until it is written.
+     * Only one claim of a mail ever succeeds, so the items must be given only
+     * once the returned future completes with true.</p>
+     *
+     * @param recipient the UUID of the mail's recipient
+     * @param mailId the mail ID
+     * @return a CompletableFuture containing true if this call claimed the items, false otherwise
+     */
+    public CompletableFuture<Boolean> markItemsClaimed(UUID recipient, String mailId) {
+        inboxCache.mailRead(mailId, false);
+        forgetReads(recipient);
+        return lanes.compose(recipient, () -> statusUpdates.markClaimed(mailId)
+                .whenComplete((claimed, error) -> {
+                    if (Boolean.TRUE.equals(claimed)) {
+                        inboxCache.mailRead(mailId, true);
+                    }
+                    invalidateStats(recipient);
+                }));
     }
 
     /**
@@ -251,7 +876,8 @@ public class MailboxManager {
      * @return a CompletableFuture containing the number of deleted messages
      */
     public CompletableFuture<Long> deleteReadMail(UUID recipient) {
-        return CompletableFuture.supplyAsync(() -> {
+        forgetReads(recipient);
+        return supplyAsync(recipient, () -> {
             try {
                 if (!plugin.getMongoDBManager().isConnected()) {
                     return 0L;
@@ -262,18 +888,50 @@ public class MailboxManager {
                     return 0L;
                 }
 
+                // Apply queued read updates first so they are included in the clear
+                statusUpdates.flush();
+
                 Bson filter = Filters.and(
                         Filters.eq("recipient", recipient.toString()),
                         Filters.eq("read", true)
                 );
 
-                return collection.deleteMany(filter).getDeletedCount();
+                long deleted = collection.deleteMany(filter).getDeletedCount();
+                inboxCache.readMailDeleted(recipient);
+                invalidateStats(recipient);
+
+                // Read mail never contributes to the counter, so only drop it once nothing is unread
+                MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+                if (deleted > 0 && counters != null) {
+                    counters.deleteOne(Filters.and(
+                            Filters.eq("_id", recipient.toString()),
+                            Filters.lte("unread", 0)
+                    ));
+                }
+                return deleted;
             } catch (Exception e) {
                 plugin.getLogger().severe("Failed to delete read mail: " + e.getMessage());
                 e.printStackTrace();
                 return 0L;
             }
-        });
+        }, 0L);
+    }
+
+    /**
+     * Atomically adjusts the unread counter of a recipient
+     *
+     * @param recipient the recipient's UUID as stored in the mailbox collection
+     * @param delta the amount to add to the counter
+     */
+    private void adjustUnreadCounter(String recipient, long delta) {
+        MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+        if (counters == null || recipient == null) {
+            return;
+        }
+
+        counters.updateOne(Filters.eq("_id", recipient),
+                Updates.combine(Updates.inc("unread", delta), Updates.currentDate("updatedAt")),
+                new UpdateOptions().upsert(true));
     }
 
     /**
@@ -283,7 +941,7 @@ public class MailboxManager {
      * @return a CompletableFuture containing the total message count
      */
     public CompletableFuture<Long> countTotalMail(UUID recipient) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(recipient, () -> {
             try {
                 if (!plugin.getMongoDBManager().isConnected()) {
                     return 0L;
@@ -300,17 +958,103 @@ public class MailboxManager {
                 e.printStackTrace();
                 return 0L;
             }
-        });
+        }, 0L);
+    }
+
+    /**
+     * Rewrites mail with legacy Base64 attachments to binary storage asynchronously
+     *
+     * @return a CompletableFuture containing the number of migrated mails
+     */
+    public CompletableFuture<Long> migrateLegacyAttachments() {
+        return supplyAsync(() -> {
+            try {
+                if (!plugin.getMongoDBManager().isConnected()) {
+                    return 0L;
+                }
+
+                return new AttachmentMigration(plugin).run();
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to migrate legacy attachments: " + e.getMessage());
+                e.printStackTrace();
+                return 0L;
+            }
+        }, 0L);
+    }
+
+    /**
+     * Configures attachment compression asynchronously
+     *
+     * <p>Stored dictionaries are loaded so existing attachments stay readable.
+     * In dictionary mode a new dictionary is trained from stored mail when none
+     * exists yet; until it is ready new attachments are deflated without one.</p>
+     *
+     * <p>A compressor that looks dictionaries up in the store on demand is
+     * installed right away, so attachments compressed with a dictionary can be
+     * read before the dictionaries have finished loading.</p>
+     *
+     * @return a CompletableFuture that completes once the compressor is installed
+     */
+    public CompletableFuture<Void> initializeAttachmentCompression() {
+        AttachmentCompressor.Mode mode = AttachmentCompressor.Mode.fromConfig(
+                plugin.getConfigManager().getString("attachments.compression", "deflate"), plugin.getLogger());
+        AttachmentDictionaryStore store = new AttachmentDictionaryStore(plugin);
+        ItemStackSerializer.setCompressor(new AttachmentCompressor(mode, Map.of(), null, store::load));
+
+        return supplyAsync(() -> {
+            try {
+                if (!plugin.getMongoDBManager().isConnected()) {
+                    return null;
+                }
+
+                Map<Integer, byte[]> dictionaries = store.loadDictionaries();
+
+                byte[] active = null;
+                for (byte[] dictionary : dictionaries.values()) {
+                    active = dictionary;
+                }
+                AttachmentCompressor compressor = new AttachmentCompressor(mode, dictionaries, active, store::load);
+                ItemStackSerializer.setCompressor(compressor);
+
+                if (mode == AttachmentCompressor.Mode.DICTIONARY && active == null) {
+                    List<byte[]> samples = store.sample(
+                            plugin.getConfigManager().getInt("attachments.dictionary-sample-size", 1000), compressor);
+                    byte[] trained = AttachmentDictionaryTrainer.train(samples, AttachmentDictionaryTrainer.MAX_DICTIONARY_SIZE);
+                    if (trained.length == 0) {
+                        plugin.getLogger().info("Not enough stored attachments to train a compression dictionary yet.");
+                        return null;
+                    }
+
+                    int id = store.save(trained);
+                    ItemStackSerializer.setCompressor(new AttachmentCompressor(mode, dictionaries, trained, store::load));
+                    plugin.getLogger().info("Trained attachment dictionary " + Integer.toHexString(id)
+                            + " (" + trained.length + " bytes) from " + samples.size() + " attachment(s).");
+                }
+                return null;
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to initialize attachment compression: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            }
+        }, null);
     }
 
     /**
      * Retrieves statistics for a player asynchronously
      *
+     * <p>All three counts are computed by a single aggregation. Results are
+     * cached per player for a short time so repeated views stay in memory.</p>
+     *
      * @param playerUUID the player's UUID
      * @return a CompletableFuture containing a Document with statistics
      */
     public CompletableFuture<Document> getPlayerStats(UUID playerUUID) {
-        return CompletableFuture.supplyAsync(() -> {
+        CachedStats cached = statsCache.get(playerUUID);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(new Document(cached.stats()));
+        }
+
+        return supplyAsync(playerUUID, () -> {
             try {
                 if (!plugin.getMongoDBManager().isConnected()) {
                     return new Document();
@@ -321,25 +1065,125 @@ public class MailboxManager {
                     return new Document();
                 }
 
-                long totalReceived = collection.countDocuments(
-                        Filters.eq("recipient", playerUUID.toString()));
-                long totalSent = collection.countDocuments(
-                        Filters.eq("sender", playerUUID.toString()));
-                long unread = collection.countDocuments(
-                        Filters.and(
-                                Filters.eq("recipient", playerUUID.toString()),
-                                Filters.eq("read", false)
-                        ));
+                String id = playerUUID.toString();
+                Document result = collection.aggregate(List.of(
+                        Aggregates.match(Filters.or(
+                                Filters.eq("recipient", id),
+                                Filters.eq("sender", id)
+                        )),
+                        Aggregates.facet(
+                                new Facet("totalReceived",
+                                        Aggregates.match(Filters.eq("recipient", id)),
+                                        Aggregates.count("count")),
+                                new Facet("totalSent",
+                                        Aggregates.match(Filters.eq("sender", id)),
+                                        Aggregates.count("count")),
+                                new Facet("unread",
+                                        Aggregates.match(Filters.and(
+                                                Filters.eq("recipient", id),
+                                                Filters.eq("read", false)
+                                        )),
+                                        Aggregates.count("count"))
+                        )
+                )).first();
 
-                return new Document()
-                        .append("totalReceived", totalReceived)
-                        .append("totalSent", totalSent)
-                        .append("unread", unread);
+                Document stats = new Document()
+                        .append("totalReceived", facetCount(result, "totalReceived"))
+                        .append("totalSent", facetCount(result, "totalSent"))
+                        .append("unread", facetCount(result, "unread"));
+
+                cacheStats(playerUUID, stats);
+                return new Document(stats);
             } catch (Exception e) {
                 plugin.getLogger().severe("Failed to retrieve player stats: " + e.getMessage());
                 e.printStackTrace();
                 return new Document();
             }
-        });
+        }, new Document());
+    }
+
+    /**
+     * Extracts the count produced by a {@code $count} stage inside a facet
+     *
+     * @param result the aggregation result, may be null
+     * @param facet the facet name
+     * @return the count, or 0 if the facet matched nothing
+     */
+    private long facetCount(@Nullable Document result, @NotNull String facet) {
+        if (result == null) {
+            return 0L;
+        }
+
+        List<Document> counts = result.getList(facet, Document.class);
+        if (counts == null || counts.isEmpty()) {
+            return 0L;
+        }
+        return counts.getFirst().get("count", Number.class).longValue();
+    }
+
+    /**
+     * Stores player statistics in the short-lived cache
+     *
+     * @param playerUUID the player's UUID
+     * @param stats the statistics to cache
+     */
+    private void cacheStats(@NotNull UUID playerUUID, @NotNull Document stats) {
+        long now = System.currentTimeMillis();
+        if (statsCache.size() >= MAX_CACHED_STATS) {
+            statsCache.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        statsCache.put(playerUUID, new CachedStats(stats, now + statsCacheTtlMillis));
+    }
+
+    /**
+     * Drops cached statistics for the given players
+     *
+     * @param playerUUIDs the players whose statistics changed
+     */
+    private void invalidateStats(UUID... playerUUIDs) {
+        for (UUID playerUUID : playerUUIDs) {
+            statsCache.remove(playerUUID);
+        }
+    }
+
+    /**
+     * Stops sharing a recipient's reads in flight
+     *
+     * <p>Called before every change to the recipient's mailbox, so requests made
+     * after the change wait for it in the recipient's lane instead of joining a
+     * read that started before it.</p>
+     *
+     * @param recipient the recipient whose mailbox changes
+     */
+    private void forgetReads(@NotNull UUID recipient) {
+        reads.forget(key -> key.recipient().equals(recipient));
+    }
+
+    /**
+     * Cached player statistics with their expiry time
+     *
+     * @param stats the statistics document
+     * @param expiresAt the time in milliseconds after which the entry is stale
+     */
+    private record CachedStats(Document stats, long expiresAt) {
+    }
+
+    /**
+     * Identifies a read that identical requests can share while it is in flight
+     *
+     * @param operation the kind of read
+     * @param recipient the recipient whose mailbox is read
+     * @param cursor the inbox cursor, or null for the newest page and for counts
+     * @param pageSize the number of messages per page, or 0 for counts
+     */
+    private record ReadKey(Operation operation, UUID recipient, @Nullable InboxCursor cursor, int pageSize) {
+
+        /**
+         * Kinds of shared reads
+         */
+        private enum Operation {
+            INBOX,
+            UNREAD_COUNT
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,344 @@
+package dev.oumaimaa.managers;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import dev.oumaimaa.Main;
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind queue for mail status updates
+ *
+ * <p>Read updates are coalesced per mail ID and flushed together, with one
+ * update per recipient, either on a short fixed interval or as soon as a full
+ * batch has accumulated. Claims are written one mail at a time and only
+ * succeed for the first claim of a mail that is not claimed yet, so the items
+ * are handed out once no matter how many clicks or servers race for them.
+ * Pending updates are flushed synchronously when the queue is shut down.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class StatusWriteBehindQueue {
+
+    private final Main plugin;
+    private final Map<String, PendingUpdate> pending;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested;
+    private final Object flushLock;
+    private final Map<String, Long> owedDecrements;
+    private final int maxBatchSize;
+
+    /**
+     * Constructs and starts a new write-behind queue
+     *
+     * @param plugin the main plugin instance
+     * @param flushIntervalMillis the interval between periodic flushes
+     * @param maxBatchSize the number of pending updates that triggers an immediate flush
+     */
+    public StatusWriteBehindQueue(Main plugin, long flushIntervalMillis, int maxBatchSize) {
+        this.plugin = plugin;
+        this.pending = new ConcurrentHashMap<>();
+        this.flushRequested = new AtomicBoolean();
+        this.flushLock = new Object();
+        this.owedDecrements = new HashMap<>();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("KawaiiMailbox-write-behind").daemon().factory());
+
+        long interval = Math.max(1L, flushIntervalMillis);
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a mail to be marked as read
+     *
+     * @param mailId the mail ID
+     * @return a CompletableFuture completed with true once the update is written, false if it failed
+     */
+    public CompletableFuture<Boolean> markRead(@NotNull String mailId) {
+        return enqueue(mailId, false);
+    }
+
+    /**
+     * Queues a mail to have its items marked as claimed, which also marks it as read
+     *
+     * @param mailId the mail ID
+     * @return a CompletableFuture completed with true once this call claimed the items, false if they were
+     *         already claimed, the mail no longer exists or the update could not be written
+     */
+    public CompletableFuture<Boolean> markClaimed(@NotNull String mailId) {
+        return enqueue(mailId, true);
+    }
+
+    /**
+     * Adds an update to the queue, merging it with any update pending for the same mail
+     *
+     * @param mailId the mail ID
+     * @param claim whether the items should be marked as claimed
+     * @return a CompletableFuture completed once the update is written
+     */
+    private CompletableFuture<Boolean> enqueue(@NotNull String mailId, boolean claim) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        pending.compute(mailId, (id, update) -> {
+            PendingUpdate merged = update != null ? update : new PendingUpdate();
+            (claim ? merged.claimWaiters : merged.readWaiters).add(future);
+            return merged;
+        });
+
+        if (pending.size() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushSafely);
+            } catch (Exception e) {
+                flushRequested.set(false);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Flushes pending updates, logging instead of propagating failures
+     */
+    private void flushSafely() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to flush mail status updates: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes all pending updates to MongoDB, batched per recipient
+     *
+     * <p>Each recipient's mails are marked as read with a single update that
+     * only matches mails that are still unread, so its modified count is
+     * exactly how far the recipient's unread counter has to drop, even when
+     * another flush or client marks the same mails concurrently. Flushes never
+     * run concurrently.</p>
+     *
+     * <p>Updates stay queued while MongoDB is unreachable. Updates and counter
+     * decrements that fail to be written are queued again and retried on the
+     * next flush, so their callers wait until they are written.</p>
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            if ((pending.isEmpty() && owedDecrements.isEmpty()) || !plugin.getMongoDBManager().isConnected()) {
+                return;
+            }
+
+            MongoCollection<Document> collection = plugin.getMongoDBManager().getMailboxCollection();
+            MongoCollection<Document> counters = plugin.getMongoDBManager().getCountersCollection();
+            if (collection == null || counters == null) {
+                return;
+            }
+
+            Map<String, PendingUpdate> batch = new HashMap<>();
+            for (String mailId : pending.keySet()) {
+                PendingUpdate update = pending.remove(mailId);
+                if (update != null) {
+                    batch.put(mailId, update);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                write(collection, batch);
+            }
+            settleDecrements(counters);
+        }
+    }
+
+    /**
+     * Applies a batch of status updates, recording the unread counter decrements they cause
+     *
+     * @param collection the mailbox collection
+     * @param batch the updates to apply, keyed by mail ID
+     */
+    private void write(@NotNull MongoCollection<Document> collection, @NotNull Map<String, PendingUpdate> batch) {
+        Map<String, List<String>> mailsByRecipient = new HashMap<>();
+        try {
+            // The recipient of a mail never changes, so reading it ahead of the updates is safe
+            collection.find(Filters.in("_id", batch.keySet()))
+                    .projection(Projections.include("recipient"))
+                    .forEach(doc -> mailsByRecipient
+                            .computeIfAbsent(doc.getString("recipient"), recipient -> new ArrayList<>())
+                            .add(doc.getString("_id")));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to write " + batch.size()
+                    + " mail status update(s), retrying on the next flush: " + e.getMessage());
+            batch.forEach(this::requeue);
+            return;
+        }
+
+        for (Map.Entry<String, List<String>> entry : mailsByRecipient.entrySet()) {
+            String recipient = entry.getKey();
+            List<String> mailIds = entry.getValue();
+            try {
+                long markedRead = collection.updateMany(
+                        Filters.and(Filters.in("_id", mailIds), Filters.eq("read", false)),
+                        Updates.set("read", true)).getModifiedCount();
+                if (markedRead > 0 && recipient != null) {
+                    owedDecrements.merge(recipient, markedRead, Long::sum);
+                }
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to write mail status updates for " + recipient
+                        + ", retrying on the next flush: " + e.getMessage());
+                for (String mailId : mailIds) {
+                    requeue(mailId, batch.remove(mailId));
+                }
+                continue;
+            }
+
+            for (String mailId : mailIds) {
+                PendingUpdate update = batch.remove(mailId);
+                update.completeReads(true);
+                if (!update.claimWaiters.isEmpty()) {
+                    writeClaim(collection, mailId, update);
+                }
+            }
+        }
+
+        // Mail deleted before the flush has nothing left to read, and no items left to claim
+        batch.values().forEach(update -> {
+            update.completeReads(true);
+            update.completeClaims(false);
+        });
+    }
+
+    /**
+     * Claims a mail's items, succeeding only if no one has claimed them yet
+     *
+     * @param collection the mailbox collection
+     * @param mailId the mail ID
+     * @param update the pending update holding the claims
+     */
+    private void writeClaim(@NotNull MongoCollection<Document> collection, @NotNull String mailId,
+                            @NotNull PendingUpdate update) {
+        try {
+            long claimed = collection.updateOne(
+                    Filters.and(Filters.eq("_id", mailId), Filters.ne("itemsClaimed", true)),
+                    Updates.set("itemsClaimed", true)).getModifiedCount();
+            update.completeClaims(claimed > 0);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to claim items of mail " + mailId + ", retrying on the next flush: "
+                    + e.getMessage());
+            requeue(mailId, update);
+        }
+    }
+
+    /**
+     * Puts an update that failed to be written back into the queue
+     *
+     * <p>Updates queued for the same mail in the meantime are merged after
+     * it, so earlier claims keep their precedence.</p>
+     *
+     * @param mailId the mail ID
+     * @param update the update to retry
+     */
+    private void requeue(@NotNull String mailId, @NotNull PendingUpdate update) {
+        pending.merge(mailId, update, (newer, retried) -> retried.mergedWith(newer));
+    }
+
+    /**
+     * Writes the unread counter decrements owed by mails marked as read
+     *
+     * @param counters the counters collection
+     */
+    private void settleDecrements(@NotNull MongoCollection<Document> counters) {
+        Iterator<Map.Entry<String, Long>> iterator = owedDecrements.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            try {
+                counters.updateOne(Filters.eq("_id", entry.getKey()), Updates.inc("unread", -entry.getValue()));
+                iterator.remove();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to update unread counter of " + entry.getKey()
+                        + ", retrying on the next flush: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops periodic flushing and synchronously writes every pending update
+     */
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flusher.shutdownNow();
+        }
+
+        flushSafely();
+        if (!pending.isEmpty()) {
+            plugin.getLogger().warning("Dropped " + pending.size() + " mail status update(s) at shutdown");
+            pending.values().forEach(update -> {
+                update.completeReads(false);
+                update.completeClaims(false);
+            });
+            pending.clear();
+        }
+    }
+
+    /**
+     * A coalesced status update for a single mail
+     */
+    private static final class PendingUpdate {
+        private final List<CompletableFuture<Boolean>> readWaiters = new ArrayList<>(1);
+        private final List<CompletableFuture<Boolean>> claimWaiters = new ArrayList<>(1);
+
+        /**
+         * Completes every caller waiting for the mail to be marked as read
+         *
+         * @param success whether the update was written
+         */
+        private void completeReads(boolean success) {
+            readWaiters.forEach(waiter -> waiter.complete(success));
+            readWaiters.clear();
+        }
+
+        /**
+         * Completes every caller waiting to claim the mail's items
+         *
+         * <p>Only the first claim can receive the items, so every later one fails.</p>
+         *
+         * @param claimed whether the first claim succeeded
+         */
+        private void completeClaims(boolean claimed) {
+            for (int i = 0; i < claimWaiters.size(); i++) {
+                claimWaiters.get(i).complete(claimed && i == 0);
+            }
+            claimWaiters.clear();
+        }
+
+        /**
+         * Appends the callers of an update queued later for the same mail
+         *
+         * @param newer the later update
+         * @return this update
+         */
+        private PendingUpdate mergedWith(@NotNull PendingUpdate newer) {
+            readWaiters.addAll(newer.readWaiters);
+            claimWaiters.addAll(newer.claimWaiters);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.oumaimaa.managers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of recipients that may have unread mail
+ *
+ * <p>A negative answer is definite, so recipients the filter has never seen
+ * can be answered without touching the database. Bits are set with lock-free
+ * atomic updates and are never cleared; recipients who read all their mail
+ * only drop out when the filter is rebuilt.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class UnreadRecipientFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructs an empty filter sized for the expected number of recipients
+     *
+     * @param expectedRecipients the number of recipients the filter should hold
+     * @param falsePositiveRate the acceptable false positive rate at that size
+     */
+    public UnreadRecipientFilter(long expectedRecipients, double falsePositiveRate) {
+        long expected = Math.max(1L, expectedRecipients);
+        double rate = Math.min(0.5, Math.max(1.0E-6, falsePositiveRate));
+
+        long optimalBits = (long) Math.ceil(-expected * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1L, (optimalBits + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    /**
+     * Records that a recipient has unread mail
+     *
+     * @param recipient the recipient's UUID
+     */
+    public void add(@NotNull UUID recipient) {
+        long h1 = mix(recipient.getMostSignificantBits() ^ recipient.getLeastSignificantBits());
+        long h2 = mix(recipient.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks if a recipient may have unread mail
+     *
+     * @param recipient the recipient's UUID
+     * @return false if the recipient definitely has no unread mail
+     */
+    public boolean mightHaveUnread(@NotNull UUID recipient) {
+        long h1 = mix(recipient.getMostSignificantBits() ^ recipient.getLeastSignificantBits());
+        long h2 = mix(recipient.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Spreads the bits of a value so nearby inputs hash far apart
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,315 @@
+package dev.oumaimaa.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Compression layer for serialized attachment bytes
+ *
+ * <p>Paper gzips every item on its own, which cannot exploit the redundancy
+ * shared between items such as enchantment lists, names and lore. Compressed
+ * attachments are therefore stored as the uncompressed NBT deflated at the
+ * highest level, optionally primed with a preset dictionary trained on the
+ * server's own mailbox contents.</p>
+ *
+ * <p>Compressed payloads start with {@link #MAGIC} followed by a codec byte.
+ * Anything else is passed through untouched, so attachments written before
+ * compression was enabled, which start with the gzip header, stay readable.
+ * Dictionaries are identified by the Adler-32 checksum embedded in the zlib
+ * stream.</p>
+ *
+ * <p>Paper only deserializes items from gzip data, so compressed payloads are
+ * handed back wrapped in a gzip stream made of stored, uncompressed blocks.
+ * Building it costs a copy and a CRC-32 of the NBT rather than another round
+ * of compression; see {@code AttachmentCompressorBenchmark} for the read cost
+ * compared to attachments stored as Paper serializes them.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public final class AttachmentCompressor {
+
+    /**
+     * Leading byte of compressed payloads; never a valid NBT tag or gzip header byte
+     */
+    public static final byte MAGIC = 0x4B;
+
+    /**
+     * Codec byte for NBT deflated without a dictionary
+     */
+    public static final byte CODEC_DEFLATE = 0x01;
+
+    /**
+     * Codec byte for NBT deflated with a preset dictionary
+     */
+    public static final byte CODEC_DEFLATE_DICTIONARY = 0x02;
+
+    /**
+     * Compressor that stores and reads attachments unchanged
+     */
+    public static final AttachmentCompressor NONE = new AttachmentCompressor(Mode.NONE, Map.of(), null, id -> null);
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Mode mode;
+    private final Map<Integer, byte[]> dictionaries;
+    private final byte[] activeDictionary;
+    private final IntFunction<byte[]> dictionaryLoader;
+
+    /**
+     * Constructs a new attachment compressor
+     *
+     * @param mode the compression applied to newly written attachments
+     * @param dictionaries the known dictionaries keyed by their Adler-32 checksum
+     * @param activeDictionary the dictionary used for new attachments, or null for none
+     * @param dictionaryLoader loads a dictionary by checksum when an unknown one is encountered
+     */
+    public AttachmentCompressor(@NotNull Mode mode, @NotNull Map<Integer, byte[]> dictionaries,
+                                byte @Nullable [] activeDictionary, @NotNull IntFunction<byte[]> dictionaryLoader) {
+        this.mode = mode;
+        this.dictionaries = new ConcurrentHashMap<>(dictionaries);
+        this.activeDictionary = mode == Mode.DICTIONARY ? activeDictionary : null;
+        this.dictionaryLoader = dictionaryLoader;
+        if (this.activeDictionary != null) {
+            this.dictionaries.put(dictionaryId(this.activeDictionary), this.activeDictionary);
+        }
+    }
+
+    /**
+     * Computes the identifier of a dictionary as embedded in zlib streams
+     *
+     * @param dictionary the dictionary bytes
+     * @return the Adler-32 checksum of the dictionary
+     */
+    public static int dictionaryId(byte @NotNull [] dictionary) {
+        Adler32 adler = new Adler32();
+        adler.update(dictionary);
+        return (int) adler.getValue();
+    }
+
+    /**
+     * Compresses serialized item bytes for storage
+     *
+     * @param serialized the gzip compressed NBT produced by {@code ItemStack#serializeAsBytes()}
+     * @return the bytes to store; the input itself if compression is disabled or does not help
+     * @throws IOException if the input is not valid gzip data
+     */
+    public byte @NotNull [] compress(byte @NotNull [] serialized) throws IOException {
+        if (mode == Mode.NONE) {
+            return serialized;
+        }
+
+        byte[] nbt = gunzip(serialized);
+        byte codec = activeDictionary != null ? CODEC_DEFLATE_DICTIONARY : CODEC_DEFLATE;
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            if (activeDictionary != null) {
+                deflater.setDictionary(activeDictionary);
+            }
+            deflater.setInput(nbt);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(nbt.length / 2 + 16);
+            out.write(MAGIC);
+            out.write(codec);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+
+            byte[] compressed = out.toByteArray();
+            return compressed.length < serialized.length ? compressed : serialized;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Restores stored attachment bytes to the form expected by {@code ItemStack#deserializeBytes(byte[])}
+     *
+     * @param stored the stored bytes
+     * @return the NBT in a gzip stream, compressed unless it was stored compressed by this compressor
+     * @throws IOException if the payload is corrupted or references an unknown dictionary
+     */
+    public byte @NotNull [] decompress(byte @NotNull [] stored) throws IOException {
+        if (!isCompressed(stored)) {
+            return stored;
+        }
+        return gzip(inflate(stored));
+    }
+
+    /**
+     * Restores stored attachment bytes to uncompressed NBT
+     *
+     * @param stored the stored bytes
+     * @return the uncompressed NBT
+     * @throws IOException if the payload is corrupted or references an unknown dictionary
+     */
+    public byte @NotNull [] decompressToNbt(byte @NotNull [] stored) throws IOException {
+        return isCompressed(stored) ? inflate(stored) : gunzip(stored);
+    }
+
+    /**
+     * Retrieves the compression applied to newly written attachments
+     *
+     * @return the compression mode
+     */
+    public @NotNull Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Checks if stored bytes carry the compressed payload header
+     *
+     * @param stored the stored bytes
+     * @return true if the bytes were written by this compressor
+     */
+    private static boolean isCompressed(byte @NotNull [] stored) {
+        return stored.length > 2 && stored[0] == MAGIC
+                && (stored[1] == CODEC_DEFLATE || stored[1] == CODEC_DEFLATE_DICTIONARY);
+    }
+
+    /**
+     * Inflates a compressed payload, resolving its preset dictionary if it has one
+     *
+     * @param stored the stored bytes including the header
+     * @return the uncompressed NBT
+     * @throws IOException if the payload is corrupted or references an unknown dictionary
+     */
+    private byte @NotNull [] inflate(byte @NotNull [] stored) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 2, stored.length - 2);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(resolveDictionary(inflater.getAdler()));
+                        continue;
+                    }
+                    if (inflater.needsInput()) {
+                        throw new IOException("Truncated attachment payload");
+                    }
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted attachment payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Looks up a dictionary by checksum, loading and caching it if it is not known yet
+     *
+     * @param id the Adler-32 checksum of the dictionary
+     * @return the dictionary bytes
+     * @throws IOException if no such dictionary exists
+     */
+    private byte @NotNull [] resolveDictionary(int id) throws IOException {
+        byte[] dictionary = dictionaries.get(id);
+        if (dictionary == null) {
+            dictionary = dictionaryLoader.apply(id);
+            if (dictionary == null) {
+                throw new IOException("Unknown attachment dictionary " + Integer.toHexString(id));
+            }
+            dictionaries.put(id, dictionary);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Decompresses gzip data
+     *
+     * @param data the gzip data
+     * @return the decompressed bytes
+     * @throws IOException if the data is not valid gzip
+     */
+    private static byte @NotNull [] gunzip(byte @NotNull [] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Wraps data in a gzip stream without compressing it
+     *
+     * @param data the data to wrap
+     * @return the gzip data, made of stored blocks
+     * @throws IOException if writing the stream fails
+     */
+    private static byte @NotNull [] gzip(byte @NotNull [] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.NO_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Compression applied to newly written attachments
+     */
+    public enum Mode {
+        /**
+         * Attachments are stored exactly as Paper serializes them
+         */
+        NONE,
+
+        /**
+         * Attachments are deflated at the highest level
+         */
+        DEFLATE,
+
+        /**
+         * Attachments are deflated with a preset dictionary trained on stored mail
+         */
+        DICTIONARY;
+
+        /**
+         * Parses a mode from its configuration value
+         *
+         * @param value the configured value
+         * @param logger the logger to report an unknown value to
+         * @return the matching mode, or {@link #DEFLATE} if the value is missing or unknown
+         */
+        public static @NotNull Mode fromConfig(@Nullable String value, @NotNull Logger logger) {
+            if (value == null) {
+                return DEFLATE;
+            }
+
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid value '" + value + "' at attachments.compression, using deflate");
+                return DEFLATE;
+            }
+        }
+    }
+}
\ No newline at end of file
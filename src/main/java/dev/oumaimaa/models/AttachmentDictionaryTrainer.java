@@ -0,0 +1,154 @@
+package dev.oumaimaa.models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trains preset deflate dictionaries from sample attachments
+ *
+ * <p>Every sample is cut into overlapping segments that are scored by how many
+ * other samples share their byte sequences. The best segments are concatenated
+ * with the most valuable ones last, since deflate reaches the end of the
+ * dictionary with the shortest back-references.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public final class AttachmentDictionaryTrainer {
+
+    /**
+     * Maximum useful dictionary size, bounded by the deflate window
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int KMER_LENGTH = 8;
+    private static final int SEGMENT_LENGTH = 64;
+    private static final int SEGMENT_STRIDE = 32;
+
+    private AttachmentDictionaryTrainer() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Trains a dictionary from uncompressed sample payloads
+     *
+     * @param samples the uncompressed NBT samples
+     * @param maxSize the maximum dictionary size in bytes
+     * @return the dictionary, or an empty array if the samples share nothing worth keeping
+     */
+    public static byte @NotNull [] train(@NotNull List<byte[]> samples, int maxSize) {
+        int size = Math.min(maxSize, MAX_DICTIONARY_SIZE);
+        Map<Long, Integer> sampleFrequency = countSharedKmers(samples);
+
+        List<Segment> candidates = new ArrayList<>();
+        for (byte[] sample : samples) {
+            for (int offset = 0; offset + KMER_LENGTH <= sample.length; offset += SEGMENT_STRIDE) {
+                int end = Math.min(offset + SEGMENT_LENGTH, sample.length);
+                long score = 0L;
+                for (int i = offset; i + KMER_LENGTH <= end; i++) {
+                    int frequency = sampleFrequency.getOrDefault(kmer(sample, i), 1);
+                    if (frequency > 1) {
+                        score += frequency;
+                    }
+                }
+                if (score > 0) {
+                    candidates.add(new Segment(sample, offset, end, score));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Segment::score).reversed());
+
+        List<Segment> selected = new ArrayList<>();
+        Set<ByteBuffer> seen = new HashSet<>();
+        int total = 0;
+        for (Segment segment : candidates) {
+            if (total >= size) {
+                break;
+            }
+            if (seen.add(ByteBuffer.wrap(segment.source(), segment.start(), segment.length()).slice())) {
+                selected.add(segment);
+                total += segment.length();
+            }
+        }
+
+        // Lowest scores first so the most common content sits closest to the data
+        selected.sort(Comparator.comparingLong(Segment::score));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(total);
+        for (Segment segment : selected) {
+            out.write(segment.source(), segment.start(), segment.length());
+        }
+
+        byte[] dictionary = out.toByteArray();
+        if (dictionary.length <= size) {
+            return dictionary;
+        }
+        byte[] trimmed = new byte[size];
+        System.arraycopy(dictionary, dictionary.length - size, trimmed, 0, size);
+        return trimmed;
+    }
+
+    /**
+     * Counts in how many samples each byte sequence occurs
+     *
+     * @param samples the samples
+     * @return the number of samples containing each k-mer
+     */
+    private static @NotNull Map<Long, Integer> countSharedKmers(@NotNull List<byte[]> samples) {
+        Map<Long, Integer> frequency = new HashMap<>();
+        Set<Long> inSample = new HashSet<>();
+        for (byte[] sample : samples) {
+            inSample.clear();
+            for (int i = 0; i + KMER_LENGTH <= sample.length; i++) {
+                inSample.add(kmer(sample, i));
+            }
+            for (Long kmer : inSample) {
+                frequency.merge(kmer, 1, Integer::sum);
+            }
+        }
+        return frequency;
+    }
+
+    /**
+     * Packs the k-mer starting at the given offset into a long
+     *
+     * @param data the sample
+     * @param offset the start offset
+     * @return the packed k-mer
+     */
+    private static long kmer(byte @NotNull [] data, int offset) {
+        long value = 0L;
+        for (int i = 0; i < KMER_LENGTH; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    /**
+     * A scored slice of a sample
+     *
+     * @param source the sample the slice belongs to
+     * @param start the start offset, inclusive
+     * @param end the end offset, exclusive
+     * @param score how widely the slice's content is shared between samples
+     */
+    private record Segment(byte[] source, int start, int end, long score) {
+
+        /**
+         * Retrieves the length of the slice
+         *
+         * @return the length in bytes
+         */
+        int length() {
+            return end - start;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package dev.oumaimaa.models;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keyset position within a player's inbox
+ *
+ * <p>Inboxes are ordered newest first by {@code (timestamp, _id)}. A cursor
+ * remembers the boundary mail of a page together with the direction to move,
+ * so the next query can seek straight to it through the index instead of
+ * skipping over every earlier document.</p>
+ *
+ * @param timestamp the timestamp of the boundary mail
+ * @param mailId the ID of the boundary mail, used to break timestamp ties
+ * @param direction the direction to read from the boundary
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public record InboxCursor(long timestamp, @NotNull String mailId, @NotNull Direction direction) {
+
+    /**
+     * Creates a cursor pointing at the mail directly older than the given one
+     *
+     * @param mail the last mail of the current page
+     * @return the cursor for the next page
+     */
+    @Contract("_ -> new")
+    public static @NotNull InboxCursor olderThan(@NotNull MailHeader mail) {
+        return new InboxCursor(mail.getTimestamp(), mail.getId(), Direction.OLDER);
+    }
+
+    /**
+     * Creates a cursor pointing at the mail directly newer than the given one
+     *
+     * @param mail the first mail of the current page
+     * @return the cursor for the previous page
+     */
+    @Contract("_ -> new")
+    public static @NotNull InboxCursor newerThan(@NotNull MailHeader mail) {
+        return new InboxCursor(mail.getTimestamp(), mail.getId(), Direction.NEWER);
+    }
+
+    /**
+     * The direction in which a cursor reads relative to its boundary mail
+     */
+    public enum Direction {
+        /**
+         * Reads mail older than the boundary (next page)
+         */
+        OLDER,
+
+        /**
+         * Reads mail newer than the boundary (previous page)
+         */
+        NEWER
+    }
+}
@@ -0,0 +1,56 @@
+package dev.oumaimaa.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A single page of a player's inbox, ordered newest first
+ *
+ * @param mails the mail on this page
+ * @param hasNewer whether newer mail exists before this page
+ * @param hasOlder whether older mail exists after this page
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public record InboxPage(@NotNull List<MailHeader> mails, boolean hasNewer, boolean hasOlder) {
+
+    /**
+     * Creates a new inbox page
+     *
+     * @param mails the mail on this page
+     * @param hasNewer whether newer mail exists before this page
+     * @param hasOlder whether older mail exists after this page
+     */
+    public InboxPage {
+        mails = List.copyOf(mails);
+    }
+
+    /**
+     * Creates an empty inbox page
+     *
+     * @return the empty page
+     */
+    public static @NotNull InboxPage empty() {
+        return new InboxPage(List.of(), false, false);
+    }
+
+    /**
+     * Retrieves the cursor for the page before this one
+     *
+     * @return the cursor, or null if this page is empty
+     */
+    public @Nullable InboxCursor newerCursor() {
+        return mails.isEmpty() ? null : InboxCursor.newerThan(mails.getFirst());
+    }
+
+    /**
+     * Retrieves the cursor for the page after this one
+     *
+     * @return the cursor, or null if this page is empty
+     */
+    public @Nullable InboxCursor olderCursor() {
+        return mails.isEmpty() ? null : InboxCursor.olderThan(mails.getLast());
+    }
+}
@@ -1,6 +1,7 @@
 package dev.oumaimaa.models;
 
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Base64;
@@ -8,37 +9,87 @@ import java.util.Base64;
 /**
  * Utility class for serializing and deserializing ItemStacks
  *
- * <p>This class provides methods to convert ItemStacks to Base64 strings
- * and vice versa for storage in MongoDB using modern NBT serialization.</p>
+ * <p>This class converts ItemStacks to and from their NBT bytes, which are
+ * stored in MongoDB as BSON binary values after passing through the configured
+ * {@link AttachmentCompressor}. Base64 strings written by earlier versions can
+ * still be read.</p>
  *
  * @author oumaimaa
  * @version 1.0.0
  */
 public final class ItemStackSerializer {
 
+    private static volatile AttachmentCompressor compressor = AttachmentCompressor.NONE;
+
     private ItemStackSerializer() {
         throw new UnsupportedOperationException("Utility class");
     }
 
     /**
-     * Serializes an ItemStack to a Base64 encoded string using NBT bytes
+     * Sets the compressor applied to serialized attachments
+     *
+     * @param attachmentCompressor the compressor to use
+     */
+    public static void setCompressor(@NotNull AttachmentCompressor attachmentCompressor) {
+        compressor = attachmentCompressor;
+    }
+
+    /**
+     * Retrieves the compressor applied to serialized attachments
+     *
+     * @return the current compressor
+     */
+    public static @NotNull AttachmentCompressor getCompressor() {
+        return compressor;
+    }
+
+    /**
+     * Serializes an ItemStack to its compressed NBT bytes
      *
      * @param item the ItemStack to serialize (may be null or air)
-     * @return the Base64 encoded string representation, or null if item is null/air
+     * @return the serialized bytes, or null if item is null/air
      */
-    public static @Nullable String serialize(@Nullable ItemStack item) {
+    public static byte @Nullable [] serializeToBytes(@Nullable ItemStack item) {
         if (item == null || item.getType().isAir()) {
-            return null; // Or handle empty items differently if needed
+            return null;
         }
 
         try {
-            byte[] bytes = item.serializeAsBytes();
-            return Base64.getEncoder().encodeToString(bytes);
+            return compressor.compress(item.serializeAsBytes());
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize ItemStack", e);
         }
     }
 
+    /**
+     * Serializes an ItemStack to a Base64 encoded string using compressed NBT bytes
+     *
+     * @param item the ItemStack to serialize (may be null or air)
+     * @return the Base64 encoded string representation, or null if item is null/air
+     */
+    public static @Nullable String serialize(@Nullable ItemStack item) {
+        byte[] bytes = serializeToBytes(item);
+        return bytes != null ? Base64.getEncoder().encodeToString(bytes) : null;
+    }
+
+    /**
+     * Deserializes stored NBT bytes to an ItemStack
+     *
+     * @param bytes the stored bytes, compressed or not (may be null)
+     * @return the deserialized ItemStack, or null if bytes are null/invalid
+     */
+    public static @Nullable ItemStack deserialize(byte @Nullable [] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            return ItemStack.deserializeBytes(compressor.decompress(bytes));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Deserializes a Base64 encoded string to an ItemStack using NBT bytes
      *
@@ -51,8 +102,7 @@ public final class ItemStackSerializer {
         }
 
         try {
-            byte[] bytes = Base64.getDecoder().decode(data);
-            return ItemStack.deserializeBytes(bytes);
+            return deserialize(Base64.getDecoder().decode(data));
         } catch (Exception e) {
             // Log the exception in your plugin if needed
             return null;
@@ -1,11 +1,13 @@
 package dev.oumaimaa.models;
 
 import org.bson.Document;
+import org.bson.types.Binary;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -77,12 +79,32 @@ public class Mail {
         boolean read = doc.getBoolean("read", false);
         boolean itemsClaimed = doc.getBoolean("itemsClaimed", false);
 
+        List<ItemStack> items = itemsFromDocument(doc);
+
+        return new Mail(id, sender, senderName, recipient, recipientName, message,
+                timestamp, read, itemsClaimed, items);
+    }
+
+    /**
+     * Deserializes the attached items stored in a MongoDB document
+     *
+     * <p>Items may be stored either as BSON binary values or, for mail written
+     * by earlier versions, as Base64 strings.</p>
+     *
+     * @param doc the MongoDB document holding an {@code items} array
+     * @return the deserialized items, skipping any corrupted entries
+     */
+    public static @NotNull List<ItemStack> itemsFromDocument(@NotNull Document doc) {
         List<ItemStack> items = new ArrayList<>();
-        List<String> itemsData = doc.getList("items", String.class);
+        List<Object> itemsData = doc.getList("items", Object.class);
         if (itemsData != null) {
-            for (String itemData : itemsData) {
+            for (Object itemData : itemsData) {
                 try {
-                    ItemStack item = ItemStackSerializer.deserialize(itemData);
+                    ItemStack item = switch (itemData) {
+                        case Binary binary -> ItemStackSerializer.deserialize(binary.getData());
+                        case String legacy -> ItemStackSerializer.deserialize(legacy);
+                        case null, default -> null;
+                    };
                     if (item != null) {
                         items.add(item);
                     }
@@ -91,9 +113,7 @@ public class Mail {
                 }
             }
         }
-
-        return new Mail(id, sender, senderName, recipient, recipientName, message,
-                timestamp, read, itemsClaimed, items);
+        return items;
     }
 
     /**
@@ -113,15 +133,14 @@ public class Mail {
                 .append("read", read)
                 .append("itemsClaimed", itemsClaimed);
 
-        if (!items.isEmpty()) {
-            List<String> itemsData = new ArrayList<>();
-            for (ItemStack item : items) {
-                itemsData.add(ItemStackSerializer.serialize(item));
+        List<Binary> itemsData = new ArrayList<>();
+        for (ItemStack item : items) {
+            byte[] bytes = ItemStackSerializer.serializeToBytes(item);
+            if (bytes != null) {
+                itemsData.add(new Binary(bytes));
             }
-            doc.append("items", itemsData);
-        } else {
-            doc.append("items", new ArrayList<>());
         }
+        doc.append("items", itemsData);
 
         return doc;
     }
@@ -231,7 +250,7 @@ public class Mail {
      * @return an unmodifiable list of items
      */
     public List<ItemStack> getItems() {
-        return new ArrayList<>(items);
+        return Collections.unmodifiableList(items);
     }
 
     /**
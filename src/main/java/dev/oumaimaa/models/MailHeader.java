@@ -0,0 +1,240 @@
+package dev.oumaimaa.models;
+
+import org.bson.Document;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Lightweight view of a mail message without its attachments
+ *
+ * <p>Headers carry everything the inbox needs to render a mail entry. The
+ * attached items are only counted, so listing an inbox never transfers or
+ * deserializes ItemStacks. Full attachments are loaded on demand through
+ * {@link dev.oumaimaa.managers.MailboxManager#getAttachments(UUID, String)}.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class MailHeader {
+
+    private final String id;
+    private final UUID sender;
+    private final String senderName;
+    private final UUID recipient;
+    private final String recipientName;
+    private final String message;
+    private final long timestamp;
+    private volatile boolean read;
+    private volatile boolean itemsClaimed;
+    private final int attachmentCount;
+
+    /**
+     * Constructs a new mail header
+     *
+     * @param id the unique identifier
+     * @param sender the sender's UUID
+     * @param senderName the sender's name
+     * @param recipient the recipient's UUID
+     * @param recipientName the recipient's name
+     * @param message the message content
+     * @param timestamp the creation timestamp
+     * @param read the read status
+     * @param itemsClaimed the items claimed status
+     * @param attachmentCount the number of attached items
+     */
+    public MailHeader(String id, UUID sender, String senderName, UUID recipient, String recipientName,
+                      String message, long timestamp, boolean read, boolean itemsClaimed, int attachmentCount) {
+        this.id = id;
+        this.sender = sender;
+        this.senderName = senderName;
+        this.recipient = recipient;
+        this.recipientName = recipientName;
+        this.message = message;
+        this.timestamp = timestamp;
+        this.read = read;
+        this.itemsClaimed = itemsClaimed;
+        this.attachmentCount = attachmentCount;
+    }
+
+    /**
+     * Creates a header from a full mail instance
+     *
+     * @param mail the mail
+     * @return the header
+     */
+    @Contract("_ -> new")
+    public static @NotNull MailHeader of(@NotNull Mail mail) {
+        return new MailHeader(mail.getId(), mail.getSender(), mail.getSenderName(), mail.getRecipient(),
+                mail.getRecipientName(), mail.getMessage(), mail.getTimestamp(), mail.isRead(),
+                mail.isItemsClaimed(), mail.getItems().size());
+    }
+
+    /**
+     * Creates a header from a projected MongoDB document
+     *
+     * <p>The document is expected to carry an {@code attachmentCount} field
+     * computed by the projection in place of the {@code items} array.</p>
+     *
+     * @param doc the projected MongoDB document
+     * @return the header
+     */
+    @Contract("_ -> new")
+    public static @NotNull MailHeader fromDocument(@NotNull Document doc) {
+        Number attachmentCount = doc.get("attachmentCount", Number.class);
+        return new MailHeader(
+                doc.getString("_id"),
+                UUID.fromString(doc.getString("sender")),
+                doc.getString("senderName"),
+                UUID.fromString(doc.getString("recipient")),
+                doc.getString("recipientName"),
+                doc.getString("message"),
+                doc.getLong("timestamp"),
+                doc.getBoolean("read", false),
+                doc.getBoolean("itemsClaimed", false),
+                attachmentCount != null ? attachmentCount.intValue() : 0
+        );
+    }
+
+    /**
+     * Creates an independent copy of this header
+     *
+     * @return the copy, carrying the current read and claimed status
+     */
+    @Contract(" -> new")
+    public @NotNull MailHeader copy() {
+        return new MailHeader(id, sender, senderName, recipient, recipientName, message,
+                timestamp, read, itemsClaimed, attachmentCount);
+    }
+
+    /**
+     * Retrieves the mail ID
+     *
+     * @return the mail ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the sender's UUID
+     *
+     * @return the sender's UUID
+     */
+    public UUID getSender() {
+        return sender;
+    }
+
+    /**
+     * Retrieves the sender's name
+     *
+     * @return the sender's name
+     */
+    public String getSenderName() {
+        return senderName;
+    }
+
+    /**
+     * Retrieves the recipient's UUID
+     *
+     * @return the recipient's UUID
+     */
+    public UUID getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * Retrieves the recipient's name
+     *
+     * @return the recipient's name
+     */
+    public String getRecipientName() {
+        return recipientName;
+    }
+
+    /**
+     * Retrieves the message content
+     *
+     * @return the message content
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Retrieves the timestamp
+     *
+     * @return the timestamp in milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Checks if the mail has been read
+     *
+     * @return true if read, false otherwise
+     */
+    public boolean isRead() {
+        return read;
+    }
+
+    /**
+     * Sets the read status
+     *
+     * @param read the new read status
+     */
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+
+    /**
+     * Checks if items have been claimed
+     *
+     * @return true if claimed, false otherwise
+     */
+    public boolean isItemsClaimed() {
+        return itemsClaimed;
+    }
+
+    /**
+     * Sets the items claimed status
+     *
+     * @param itemsClaimed the new claimed status
+     */
+    public void setItemsClaimed(boolean itemsClaimed) {
+        this.itemsClaimed = itemsClaimed;
+    }
+
+    /**
+     * Retrieves the number of attached items
+     *
+     * @return the attachment count
+     */
+    public int getAttachmentCount() {
+        return attachmentCount;
+    }
+
+    /**
+     * Checks if the mail has attached items
+     *
+     * @return true if items are attached, false otherwise
+     */
+    public boolean hasItems() {
+        return attachmentCount > 0;
+    }
+
+    /**
+     * Retrieves a preview of the message (truncated if necessary)
+     *
+     * @param maxLength the maximum length of the preview
+     * @return the message preview
+     */
+    public String getMessagePreview(int maxLength) {
+        if (message.length() <= maxLength) {
+            return message;
+        }
+        return message.substring(0, maxLength) + "...";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Scheduler for servers with a single main thread
+ *
+ * <p>Immediate work goes through a {@link MainThreadExecutor}, which spreads
+ * it across ticks fairly between players; delayed and repeating work uses the
+ * Bukkit scheduler.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class BukkitMailboxScheduler implements MailboxScheduler {
+
+    private final Plugin plugin;
+    private final MainThreadExecutor mainThreadExecutor;
+
+    /**
+     * Constructs a new Bukkit scheduler and starts its main thread executor
+     *
+     * @param plugin the plugin owning the scheduled tasks
+     * @param mainThreadExecutor the executor for immediate work
+     */
+    BukkitMailboxScheduler(@NotNull Plugin plugin, @NotNull MainThreadExecutor mainThreadExecutor) {
+        this.plugin = plugin;
+        this.mainThreadExecutor = mainThreadExecutor;
+        mainThreadExecutor.start();
+    }
+
+    @Override
+    public @NotNull Executor forPlayer(@NotNull UUID player) {
+        return mainThreadExecutor.forPlayer(player);
+    }
+
+    @Override
+    public @NotNull Executor global() {
+        return mainThreadExecutor;
+    }
+
+    @Override
+    public void runLater(@NotNull Player player, @NotNull Runnable task, long delayTicks) {
+        Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+    }
+
+    @Override
+    public void runLater(@NotNull Runnable task, long delayTicks) {
+        Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+    }
+
+    @Override
+    public void runTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+    }
+
+    @Override
+    public void shutdown() {
+        mainThreadExecutor.shutdown();
+    }
+}
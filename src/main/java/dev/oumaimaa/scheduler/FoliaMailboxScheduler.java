@@ -0,0 +1,78 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Scheduler for Folia servers
+ *
+ * <p>Work for a player runs on the scheduler of the player entity, which
+ * follows the player between regions; other work runs on the global region.
+ * Tasks for players who have left, including players removed after a task
+ * was scheduled but before it ran, run on the global region instead, so that
+ * futures completed through them are never left pending.</p>
+ *
+ * <p>Unlike on Paper, there is no per-tick budget and players do not take
+ * turns, since each region ticks on its own thread.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class FoliaMailboxScheduler implements MailboxScheduler {
+
+    private final Plugin plugin;
+    private final Executor globalExecutor;
+
+    /**
+     * Constructs a new Folia scheduler
+     *
+     * @param plugin the plugin owning the scheduled tasks
+     */
+    FoliaMailboxScheduler(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+        this.globalExecutor = task -> Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    @Override
+    public @NotNull Executor forPlayer(@NotNull UUID player) {
+        return task -> {
+            Player online = Bukkit.getPlayer(player);
+            if (online == null || !online.getScheduler().execute(plugin, task, () -> globalExecutor.execute(task), 1L)) {
+                globalExecutor.execute(task);
+            }
+        };
+    }
+
+    @Override
+    public @NotNull Executor global() {
+        return globalExecutor;
+    }
+
+    @Override
+    public void runLater(@NotNull Player player, @NotNull Runnable task, long delayTicks) {
+        if (!player.getScheduler().execute(plugin, task, () -> globalExecutor.execute(task), Math.max(1L, delayTicks))) {
+            runLater(task, delayTicks);
+        }
+    }
+
+    @Override
+    public void runLater(@NotNull Runnable task, long delayTicks) {
+        Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1L, delayTicks));
+    }
+
+    @Override
+    public void runTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+    }
+
+    @Override
+    public void shutdown() {
+        // Folia cancels the plugin's scheduled tasks when it is disabled
+    }
+}
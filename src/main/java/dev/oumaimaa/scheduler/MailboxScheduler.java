@@ -0,0 +1,106 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Schedules mailbox work on the thread that owns the state it touches
+ *
+ * <p>On Paper every task runs on the main thread, within a per-tick time
+ * budget and with players taking turns. On Folia, where each region of the
+ * world ticks on its own thread, work for a player runs on the player's region
+ * and everything else on the global region; the budget and turn-taking do not
+ * apply there. Callers never use the Bukkit scheduler directly, so the plugin
+ * runs on both.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public interface MailboxScheduler {
+
+    /**
+     * Creates the scheduler matching the running server
+     *
+     * @param plugin the plugin owning the scheduled tasks
+     * @param budgetMillis the time each tick may spend on queued tasks, used on Paper
+     * @param backlogWarningThreshold the backlog size above which a warning is logged, used on Paper
+     * @return the scheduler
+     */
+    static @NotNull MailboxScheduler create(@NotNull Plugin plugin, long budgetMillis, int backlogWarningThreshold) {
+        if (isFolia()) {
+            return new FoliaMailboxScheduler(plugin);
+        }
+        return new BukkitMailboxScheduler(plugin, new MainThreadExecutor(plugin, budgetMillis, backlogWarningThreshold));
+    }
+
+    /**
+     * Checks if the server runs Folia's regionized ticking
+     *
+     * @return true on Folia, false otherwise
+     */
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves an executor for work that touches a player, such as messaging,
+     * opening GUIs or delivering items
+     *
+     * <p>Tasks for a player who is no longer online still run, though not
+     * necessarily on the thread owning the player, so futures completed through
+     * this executor always complete.</p>
+     *
+     * @param player the UUID of the player the tasks are for
+     * @return the executor
+     */
+    @NotNull Executor forPlayer(@NotNull UUID player);
+
+    /**
+     * Retrieves an executor for work that does not belong to a single player
+     *
+     * @return the executor
+     */
+    @NotNull Executor global();
+
+    /**
+     * Runs a task for a player after a delay
+     *
+     * <p>The task still runs if the player has left in the meantime.</p>
+     *
+     * @param player the player the task is for
+     * @param task the task to run
+     * @param delayTicks the delay in ticks
+     */
+    void runLater(@NotNull Player player, @NotNull Runnable task, long delayTicks);
+
+    /**
+     * Runs a task that does not belong to a single player after a delay
+     *
+     * @param task the task to run
+     * @param delayTicks the delay in ticks
+     */
+    void runLater(@NotNull Runnable task, long delayTicks);
+
+    /**
+     * Runs a task that does not belong to a single player repeatedly
+     *
+     * @param task the task to run
+     * @param delayTicks the delay before the first run in ticks
+     * @param periodTicks the period between runs in ticks
+     */
+    void runTimer(@NotNull Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Stops accepting tasks and runs the ones still queued, if any
+     */
+    void shutdown();
+}
@@ -0,0 +1,287 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that runs tasks on the server main thread
+ *
+ * <p>Tasks are collected in lock-free queues and drained by a single
+ * repeating task once per tick, so handing a result back to the main thread
+ * does not schedule a task of its own. Each tick runs tasks until the
+ * configured time budget is used up and leaves the rest for the following
+ * ticks. It can be passed directly to the {@code *Async} methods of
+ * {@link java.util.concurrent.CompletableFuture}.</p>
+ *
+ * <p>Work done on behalf of a player goes through {@link #forPlayer(UUID)}.
+ * Every player has a lane of their own and lanes take turns running one task
+ * each, so during a load spike one player's GUI opens and notifications can
+ * not delay everyone else's, while each player's tasks still run in the
+ * order they were submitted.</p>
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+public class MainThreadExecutor implements Executor {
+
+    private static final long BACKLOG_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Plugin plugin;
+    private final Map<UUID, Lane> lanes;
+    private final Lane sharedLane;
+    private final Queue<Lane> readyLanes;
+    private final AtomicInteger backlog;
+    private final long budgetNanos;
+    private final int backlogWarningThreshold;
+    private long lastBacklogWarning;
+    private BukkitTask drainTask;
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a new main thread executor
+     *
+     * @param plugin the plugin owning the drain task
+     * @param budgetMillis the time each tick may spend running tasks
+     * @param backlogWarningThreshold the backlog size above which a warning is logged
+     */
+    public MainThreadExecutor(@NotNull Plugin plugin, long budgetMillis, int backlogWarningThreshold) {
+        this.plugin = plugin;
+        this.lanes = new ConcurrentHashMap<>();
+        this.sharedLane = new Lane(null);
+        this.readyLanes = new ConcurrentLinkedQueue<>();
+        this.backlog = new AtomicInteger();
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, budgetMillis));
+        this.backlogWarningThreshold = backlogWarningThreshold;
+        this.lastBacklogWarning = System.nanoTime() - BACKLOG_WARNING_INTERVAL_NANOS;
+    }
+
+    /**
+     * Starts draining queued tasks every tick
+     */
+    public void start() {
+        drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+    }
+
+    /**
+     * Queues a task that does not belong to a single player
+     *
+     * @param task the task to run
+     * @throws RejectedExecutionException if the executor is shut down
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        submit(sharedLane, task);
+    }
+
+    /**
+     * Retrieves an executor that queues tasks in a player's lane
+     *
+     * @param player the UUID of the player the tasks are for
+     * @return the executor
+     */
+    public @NotNull Executor forPlayer(@NotNull UUID player) {
+        return task -> {
+            checkRunning();
+            // Queued while the lane is held in the map, so it cannot be retired in between
+            Lane lane = lanes.compute(player, (key, current) -> {
+                Lane queued = current != null ? current : new Lane(key);
+                backlog.incrementAndGet();
+                queued.tasks.add(task);
+                return queued;
+            });
+            schedule(lane);
+        };
+    }
+
+    /**
+     * Retrieves the number of tasks waiting to run
+     *
+     * @return the backlog size
+     */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Retrieves the number of lanes that have tasks waiting
+     *
+     * @return the number of waiting lanes, including the shared one
+     */
+    public int getWaitingLanes() {
+        return readyLanes.size();
+    }
+
+    /**
+     * Queues a task in a lane, making the lane take part in the rotation
+     *
+     * @param lane the lane to queue in
+     * @param task the task to run
+     */
+    private void submit(@NotNull Lane lane, @NotNull Runnable task) {
+        checkRunning();
+        backlog.incrementAndGet();
+        lane.tasks.add(task);
+        schedule(lane);
+    }
+
+    /**
+     * Makes a lane with queued tasks take part in the rotation, unless it already does
+     *
+     * @param lane the lane
+     */
+    private void schedule(@NotNull Lane lane) {
+        if (lane.scheduled.compareAndSet(false, true)) {
+            readyLanes.add(lane);
+        }
+    }
+
+    /**
+     * Rejects tasks once the executor is shut down
+     *
+     * @throws RejectedExecutionException if the executor is shut down
+     */
+    private void checkRunning() {
+        if (shutdown) {
+            throw new RejectedExecutionException("Main thread executor is shut down");
+        }
+    }
+
+    /**
+     * Runs queued tasks, one per lane in turn, until the tick budget is used up
+     *
+     * <p>At least one task runs every tick, so a single slow task cannot
+     * stall the queue.</p>
+     */
+    void drain() {
+        long start = System.nanoTime();
+        reportBacklog(start);
+
+        long deadline = start + budgetNanos;
+        do {
+            Lane lane = readyLanes.poll();
+            if (lane == null) {
+                return;
+            }
+
+            Runnable task = lane.tasks.poll();
+            if (task != null) {
+                backlog.decrementAndGet();
+                run(task);
+            }
+            release(lane);
+        } while (System.nanoTime() < deadline);
+    }
+
+    /**
+     * Puts a lane back into the rotation if it still has tasks, or retires it
+     *
+     * @param lane the lane that just ran a task
+     */
+    private void release(@NotNull Lane lane) {
+        if (!lane.tasks.isEmpty()) {
+            readyLanes.add(lane);
+            return;
+        }
+
+        lane.scheduled.set(false);
+        if (!lane.tasks.isEmpty()) {
+            // A task was added after the queue was seen empty; its submitter may not have rescheduled the lane
+            if (lane.scheduled.compareAndSet(false, true)) {
+                readyLanes.add(lane);
+            }
+            return;
+        }
+
+        // Retired only while nothing is queued, so a player never has two lanes with tasks at once
+        if (lane.player != null) {
+            lanes.computeIfPresent(lane.player, (player, current) ->
+                    current == lane && lane.tasks.isEmpty() && !lane.scheduled.get() ? null : current);
+        }
+    }
+
+    /**
+     * Logs a warning at most once a minute while the backlog is above the threshold
+     *
+     * @param now the current time in nanoseconds
+     */
+    private void reportBacklog(long now) {
+        int size = backlog.get();
+        if (size <= backlogWarningThreshold || now - lastBacklogWarning < BACKLOG_WARNING_INTERVAL_NANOS) {
+            return;
+        }
+
+        lastBacklogWarning = now;
+        plugin.getLogger().warning("Main thread backlog: " + size + " task(s) waiting in "
+                + readyLanes.size() + " lane(s)");
+    }
+
+    /**
+     * Runs a task, reporting any failure
+     *
+     * @param task the task to run
+     */
+    private void run(@NotNull Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            plugin.getLogger().severe("Error running main thread task: " + t.getMessage());
+            t.printStackTrace();
+        }
+    }
+
+    /**
+     * Stops accepting tasks and runs the ones still queued
+     *
+     * <p>Must be called from the main thread.</p>
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (drainTask != null) {
+            drainTask.cancel();
+        }
+
+        Lane lane;
+        while ((lane = readyLanes.poll()) != null) {
+            Runnable task;
+            while ((task = lane.tasks.poll()) != null) {
+                backlog.decrementAndGet();
+                run(task);
+            }
+        }
+    }
+
+    /**
+     * Queue of tasks submitted for one player, or for no player in particular
+     */
+    private static final class Lane {
+
+        private final @Nullable UUID player;
+        private final Queue<Runnable> tasks;
+        private final AtomicBoolean scheduled;
+
+        /**
+         * Constructs a new, empty lane
+         *
+         * @param player the player the lane belongs to, or null for the shared lane
+         */
+        private Lane(@Nullable UUID player) {
+            this.player = player;
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.scheduled = new AtomicBoolean();
+        }
+    }
+}
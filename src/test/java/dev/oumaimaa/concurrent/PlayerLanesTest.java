@@ -0,0 +1,109 @@
+package dev.oumaimaa.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the serial operation lanes of players
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class PlayerLanesTest {
+
+    @Test
+    void operationsForOnePlayerRunInSubmissionOrder() {
+        PlayerLanes lanes = new PlayerLanes(Runnable::run);
+        UUID player = UUID.randomUUID();
+        CompletableFuture<String> first = new CompletableFuture<>();
+        List<String> ran = new ArrayList<>();
+
+        CompletableFuture<String> firstResult = lanes.compose(player, () -> first);
+        CompletableFuture<String> secondResult = lanes.supply(player, () -> {
+            ran.add("second");
+            return "second";
+        });
+
+        assertTrue(ran.isEmpty());
+        assertFalse(secondResult.isDone());
+
+        first.complete("first");
+
+        assertEquals("first", firstResult.join());
+        assertEquals("second", secondResult.join());
+        assertEquals(List.of("second"), ran);
+    }
+
+    @Test
+    void failedOperationDoesNotBlockTheLane() {
+        PlayerLanes lanes = new PlayerLanes(Runnable::run);
+        UUID player = UUID.randomUUID();
+        CompletableFuture<String> first = new CompletableFuture<>();
+
+        CompletableFuture<String> firstResult = lanes.compose(player, () -> first);
+        CompletableFuture<String> secondResult = lanes.supply(player, () -> "second");
+        first.completeExceptionally(new IllegalStateException("Expected by the test"));
+
+        CompletionException error = assertThrows(CompletionException.class, firstResult::join);
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertEquals("second", secondResult.join());
+    }
+
+    @Test
+    void operationThatThrowsWhileStartingFailsItsFuture() {
+        PlayerLanes lanes = new PlayerLanes(Runnable::run);
+        UUID player = UUID.randomUUID();
+
+        CompletableFuture<String> failed = lanes.compose(player, () -> {
+            throw new IllegalStateException("Expected by the test");
+        });
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("next", lanes.supply(player, () -> "next").join());
+    }
+
+    @Test
+    void otherPlayersDoNotWait() {
+        PlayerLanes lanes = new PlayerLanes(Runnable::run);
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        AtomicBoolean bobRan = new AtomicBoolean();
+
+        lanes.compose(alice, CompletableFuture::new);
+        CompletableFuture<Boolean> bobResult = lanes.supply(bob, () -> bobRan.getAndSet(true));
+
+        assertTrue(bobRan.get());
+        assertFalse(bobResult.join());
+        assertFalse(lanes.isIdle(alice));
+        assertTrue(lanes.isIdle(bob));
+    }
+
+    @Test
+    void laneIsRemovedOnceItHasNothingLeftToRun() {
+        PlayerLanes lanes = new PlayerLanes(Runnable::run);
+        UUID player = UUID.randomUUID();
+        CompletableFuture<String> first = new CompletableFuture<>();
+
+        lanes.compose(player, () -> first);
+        CompletableFuture<String> second = lanes.supply(player, () -> "second");
+        assertFalse(lanes.isIdle(player));
+        assertEquals(1, lanes.getActiveLanes());
+
+        first.complete("first");
+        second.join();
+
+        assertTrue(lanes.isIdle(player));
+        assertEquals(0, lanes.getActiveLanes());
+    }
+}
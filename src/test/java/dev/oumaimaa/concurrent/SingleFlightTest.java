@@ -0,0 +1,122 @@
+package dev.oumaimaa.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for coalescing identical reads in flight
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class SingleFlightTest {
+
+    @Test
+    void concurrentRequestsShareOneRead() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        CompletableFuture<Integer> read = new CompletableFuture<>();
+        AtomicInteger reads = new AtomicInteger();
+
+        CompletableFuture<Integer> first = flights.share("stats", () -> {
+            reads.incrementAndGet();
+            return read;
+        });
+        CompletableFuture<Integer> second = flights.share("stats", () -> {
+            reads.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        read.complete(7);
+
+        assertEquals(1, reads.get());
+        assertEquals(7, first.join());
+        assertEquals(7, second.join());
+    }
+
+    @Test
+    void differentKeysReadSeparately() {
+        SingleFlight<String> flights = new SingleFlight<>();
+
+        CompletableFuture<String> alice = flights.share("alice", () -> CompletableFuture.completedFuture("a"));
+        CompletableFuture<String> bob = flights.share("bob", () -> CompletableFuture.completedFuture("b"));
+
+        assertEquals("a", alice.join());
+        assertEquals("b", bob.join());
+    }
+
+    @Test
+    void keyIsForgottenOnceTheReadCompletes() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        CompletableFuture<Integer> read = new CompletableFuture<>();
+
+        flights.share("stats", () -> read);
+        assertEquals(1, flights.getInFlight());
+
+        read.complete(1);
+        assertEquals(0, flights.getInFlight());
+        assertEquals(2, flights.share("stats", () -> CompletableFuture.completedFuture(2)).join());
+    }
+
+    @Test
+    void failedReadIsForgottenAndReportedToEveryCaller() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        CompletableFuture<Integer> read = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = flights.share("stats", () -> read);
+        CompletableFuture<Integer> second = flights.share("stats", () -> read);
+        read.completeExceptionally(new IllegalStateException("Expected by the test"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertEquals(0, flights.getInFlight());
+    }
+
+    @Test
+    void readThatThrowsWhileStartingIsForgotten() {
+        SingleFlight<String> flights = new SingleFlight<>();
+
+        CompletableFuture<Integer> failed = flights.share("stats", () -> {
+            throw new IllegalStateException("Expected by the test");
+        });
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, flights.getInFlight());
+    }
+
+    @Test
+    void cancellingOneCopyDoesNotAffectTheOthers() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        CompletableFuture<Integer> read = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = flights.share("stats", () -> read);
+        CompletableFuture<Integer> second = flights.share("stats", () -> read);
+        first.cancel(false);
+
+        assertEquals(1, flights.getInFlight());
+        read.complete(3);
+        assertEquals(3, second.join());
+    }
+
+    @Test
+    void forgottenKeysStartNewReadsWhileEarlierCallersKeepTheirs() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        CompletableFuture<Integer> stale = new CompletableFuture<>();
+
+        CompletableFuture<Integer> before = flights.share("stats:alice", () -> stale);
+        flights.share("stats:bob", CompletableFuture::new);
+        flights.forget(key -> key.endsWith(":alice"));
+
+        CompletableFuture<Integer> after = flights.share("stats:alice", () -> CompletableFuture.completedFuture(2));
+        stale.complete(1);
+
+        assertEquals(1, before.join());
+        assertEquals(2, after.join());
+        assertEquals(1, flights.getInFlight());
+    }
+}
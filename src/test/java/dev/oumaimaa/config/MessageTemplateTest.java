@@ -0,0 +1,166 @@
+package dev.oumaimaa.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for rendering precompiled message templates
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class MessageTemplateTest {
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    private static final String PLAYER_NOT_FOUND = "<red>Player <yellow>{player}</yellow> not found!";
+    private static final String UNREAD_NOTIFICATION =
+            "<gradient:#FF69B4:#FFB6C1>✉</gradient> <yellow>You have <aqua>{count}</aqua> unread message(s)!";
+
+    @Test
+    void slotTakesTheStyleOfItsPlaceholder() {
+        Component rendered = MessageTemplate.compile(MINI_MESSAGE, PLAYER_NOT_FOUND).render("{player}", "Steve");
+
+        assertEquals("Player Steve not found!", plain(rendered));
+        assertEquals(NamedTextColor.YELLOW, leaf(rendered, "Steve").color());
+    }
+
+    @Test
+    void valuesAreNeverParsedAsMiniMessage() {
+        Component rendered = MessageTemplate.compile(MINI_MESSAGE, PLAYER_NOT_FOUND)
+                .render("{player}", "<bold>Steve</bold>");
+
+        assertEquals("Player <bold>Steve</bold> not found!", plain(rendered));
+        assertEquals(NamedTextColor.YELLOW, leaf(rendered, "<bold>Steve</bold>").color());
+    }
+
+    @Test
+    void missingValuesKeepTheirPlaceholder() {
+        MessageTemplate template = MessageTemplate.compile(MINI_MESSAGE, PLAYER_NOT_FOUND);
+
+        assertEquals("Player {player} not found!", plain(template.render()));
+        assertEquals("Player {player} not found!", plain(template.render("{count}", "3")));
+    }
+
+    @Test
+    void placeholderKeysMayOmitTheirBraces() {
+        Component rendered = MessageTemplate.compile(MINI_MESSAGE, PLAYER_NOT_FOUND).render("player", "Steve");
+
+        assertEquals("Player Steve not found!", plain(rendered));
+    }
+
+    @Test
+    void messageWithoutPlaceholdersIsParsedOnce() {
+        MessageTemplate template = MessageTemplate.compile(MINI_MESSAGE, "<green>Mail sent!");
+
+        assertSame(template.render(), template.render("{player}", "Steve"));
+    }
+
+    @Test
+    void gradientBesidePlaceholderKeepsTheSlotStyle() {
+        Component rendered = MessageTemplate.compile(MINI_MESSAGE, UNREAD_NOTIFICATION).render("{count}", "3");
+
+        assertEquals("✉ You have 3 unread message(s)!", plain(rendered));
+        assertEquals(NamedTextColor.AQUA, leaf(rendered, "3").color());
+    }
+
+    @Test
+    void placeholderInsideGradientIsStyledPerCharacter() {
+        Component rendered = MessageTemplate.compile(MINI_MESSAGE, "<gradient:#FF0000:#0000FF>{player}</gradient>")
+                .render("{player}", "Steve");
+
+        Set<TextColor> colors = new HashSet<>();
+        for (TextComponent text : leaves(rendered)) {
+            if (!text.content().isEmpty()) {
+                colors.add(text.color());
+            }
+        }
+
+        assertEquals("Steve", plain(rendered));
+        assertTrue(colors.size() > 1, "gradient was applied to the value as a whole");
+    }
+
+    @Test
+    void placeholderInClickArgumentIsSubstituted() {
+        Component rendered = MessageTemplate.compile(MINI_MESSAGE,
+                        "<click:run_command:'/mailbox read {id}'><aqua>{id}</aqua></click>")
+                .render("{id}", "abc123");
+
+        assertEquals("abc123", plain(rendered));
+        ClickEvent click = leaf(rendered, "abc123").clickEvent();
+        assertNotNull(click);
+        assertEquals("/mailbox read abc123", click.value());
+        assertEquals(NamedTextColor.AQUA, leaf(rendered, "abc123").color());
+    }
+
+    /**
+     * Renders a component as plain text
+     *
+     * @param component the component
+     * @return the plain text
+     */
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+    /**
+     * Finds the text component with the given content, with the style it inherits from its parents
+     *
+     * @param component the root component
+     * @param content the content to find
+     * @return the text component
+     */
+    private static TextComponent leaf(Component component, String content) {
+        for (TextComponent text : leaves(component)) {
+            if (text.content().equals(content)) {
+                return text;
+            }
+        }
+        throw new AssertionError("No text component with content: " + content);
+    }
+
+    /**
+     * Collects the text components of a tree, each merged with the style of its parents
+     *
+     * @param component the root component
+     * @return the text components in order
+     */
+    private static List<TextComponent> leaves(Component component) {
+        List<TextComponent> leaves = new ArrayList<>();
+        collect(component, component.style(), leaves);
+        return leaves;
+    }
+
+    /**
+     * Collects the text components of a subtree
+     *
+     * @param component the subtree
+     * @param style the style inherited by the subtree
+     * @param leaves the list to add to
+     */
+    private static void collect(Component component, Style style, List<TextComponent> leaves) {
+        if (component instanceof TextComponent text) {
+            leaves.add(text.style(style));
+        }
+        for (Component child : component.children()) {
+            collect(child, child.style().merge(style, Style.Merge.Strategy.IF_ABSENT_ON_TARGET), leaves);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package dev.oumaimaa.managers;
+
+import dev.oumaimaa.models.InboxCursor;
+import dev.oumaimaa.models.InboxPage;
+import dev.oumaimaa.models.MailHeader;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the inbox cache of online players
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class InboxCacheTest {
+
+    private static final UUID PLAYER = UUID.randomUUID();
+    private static final long BUDGET = 1024L * 1024L;
+
+    @Test
+    void newestPageReportsOlderMail() {
+        InboxCache cache = loaded(10, "e", "d", "c", "b", "a");
+
+        InboxPage page = cache.page(PLAYER, null, 2);
+
+        assertNotNull(page);
+        assertEquals(List.of("e", "d"), ids(page));
+        assertFalse(page.hasNewer());
+        assertTrue(page.hasOlder());
+    }
+
+    @Test
+    void olderCursorContinuesAfterThePage() {
+        InboxCache cache = loaded(10, "e", "d", "c", "b", "a");
+
+        InboxPage second = cache.page(PLAYER, new InboxCursor(400L, "d", InboxCursor.Direction.OLDER), 2);
+        assertNotNull(second);
+        assertEquals(List.of("c", "b"), ids(second));
+        assertTrue(second.hasNewer());
+        assertTrue(second.hasOlder());
+
+        InboxPage last = cache.page(PLAYER, second.olderCursor(), 2);
+        assertNotNull(last);
+        assertEquals(List.of("a"), ids(last));
+        assertFalse(last.hasOlder());
+    }
+
+    @Test
+    void newerCursorEndsBeforeTheCursorMail() {
+        InboxCache cache = loaded(10, "e", "d", "c", "b", "a");
+
+        InboxPage page = cache.page(PLAYER, new InboxCursor(100L, "a", InboxCursor.Direction.NEWER), 2);
+        assertNotNull(page);
+        assertEquals(List.of("c", "b"), ids(page));
+        assertTrue(page.hasNewer());
+
+        InboxPage newest = cache.page(PLAYER, new InboxCursor(300L, "c", InboxCursor.Direction.NEWER), 2);
+        assertNotNull(newest);
+        assertEquals(List.of("e", "d"), ids(newest));
+        assertFalse(newest.hasNewer());
+    }
+
+    @Test
+    void timestampTiesAreOrderedByMailId() {
+        InboxCache cache = new InboxCache(10, BUDGET, 0L);
+        cache.track(PLAYER);
+        cache.install(cache.beginLoad(PLAYER), List.of(mail("c", 100L), mail("b", 100L), mail("a", 100L)), 3L);
+
+        InboxPage page = cache.page(PLAYER, new InboxCursor(100L, "c", InboxCursor.Direction.OLDER), 1);
+
+        assertNotNull(page);
+        assertEquals(List.of("b"), ids(page));
+    }
+
+    @Test
+    void pagesBeyondAnIncompleteEntryAreLeftToTheDatabase() {
+        InboxCache cache = loaded(3, "e", "d", "c", "b");
+
+        assertNotNull(cache.page(PLAYER, null, 2));
+        assertNull(cache.page(PLAYER, new InboxCursor(400L, "d", InboxCursor.Direction.OLDER), 2));
+    }
+
+    @Test
+    void loadIsDiscardedWhenMailIsSentWhileItRuns() {
+        InboxCache cache = new InboxCache(10, BUDGET, 0L);
+        cache.track(PLAYER);
+        InboxCache.LoadTicket ticket = cache.beginLoad(PLAYER);
+
+        cache.mailSent(mail("f", 600L));
+
+        assertFalse(cache.install(ticket, headers("e", "d"), 2L));
+        assertTrue(cache.needsLoad(PLAYER));
+        assertTrue(cache.install(cache.beginLoad(PLAYER), headers("f", "e", "d"), 3L));
+    }
+
+    @Test
+    void loadIsDiscardedWhenReadMailIsDeletedWhileItRuns() {
+        InboxCache cache = new InboxCache(10, BUDGET, 0L);
+        cache.track(PLAYER);
+        InboxCache.LoadTicket ticket = cache.beginLoad(PLAYER);
+
+        cache.readMailDeleted(PLAYER);
+
+        assertFalse(cache.install(ticket, headers("e", "d"), 2L));
+    }
+
+    @Test
+    void loadIsDiscardedForUntrackedPlayers() {
+        InboxCache cache = new InboxCache(10, BUDGET, 0L);
+
+        assertFalse(cache.install(cache.beginLoad(PLAYER), headers("e", "d"), 2L));
+        assertFalse(cache.needsLoad(PLAYER));
+        assertNull(cache.unreadCount(PLAYER));
+    }
+
+    @Test
+    void recentReadIsReplayedOntoLoadedHeaders() {
+        InboxCache cache = new InboxCache(10, BUDGET, 0L);
+        cache.track(PLAYER);
+        InboxCache.LoadTicket ticket = cache.beginLoad(PLAYER);
+
+        cache.mailRead("d", true);
+
+        assertTrue(cache.install(ticket, headers("e", "d", "c"), 3L));
+        InboxPage page = cache.page(PLAYER, null, 3);
+        assertNotNull(page);
+        assertTrue(page.mails().get(1).isRead());
+        assertTrue(page.mails().get(1).isItemsClaimed());
+        assertEquals(2L, cache.unreadCount(PLAYER));
+    }
+
+    @Test
+    void replayedReadsAreTakenOffTheCounterOfIncompleteEntries() {
+        InboxCache cache = new InboxCache(2, BUDGET, 0L);
+        cache.track(PLAYER);
+        InboxCache.LoadTicket ticket = cache.beginLoad(PLAYER);
+
+        cache.mailRead("e", false);
+
+        assertTrue(cache.install(ticket, headers("e", "d", "c"), 5L));
+        assertEquals(4L, cache.unreadCount(PLAYER));
+    }
+
+    @Test
+    void readIsCountedOnceForCachedMail() {
+        InboxCache cache = loaded(10, "e", "d", "c");
+
+        cache.mailRead("d", false);
+        cache.mailRead("d", true);
+
+        assertEquals(2L, cache.unreadCount(PLAYER));
+    }
+
+    @Test
+    void sentMailIsAddedToTheLoadedEntry() {
+        InboxCache cache = loaded(10, "e", "d");
+
+        cache.mailSent(mail("f", 600L));
+
+        InboxPage page = cache.page(PLAYER, null, 5);
+        assertNotNull(page);
+        assertEquals(List.of("f", "e", "d"), ids(page));
+        assertEquals(3L, cache.unreadCount(PLAYER));
+    }
+
+    @Test
+    void needsLoadOnlyForTrackedPlayersWithoutAnEntry() {
+        InboxCache cache = new InboxCache(10, BUDGET, 0L);
+        assertFalse(cache.needsLoad(PLAYER));
+
+        cache.track(PLAYER);
+        assertTrue(cache.needsLoad(PLAYER));
+
+        cache.install(cache.beginLoad(PLAYER), headers("e"), 1L);
+        assertFalse(cache.needsLoad(PLAYER));
+
+        cache.evict(PLAYER);
+        assertFalse(cache.needsLoad(PLAYER));
+    }
+
+    @Test
+    void trackedBeforeListsPlayersTrackedEarlier() {
+        InboxCache cache = new InboxCache(10, BUDGET, 0L);
+        cache.track(PLAYER);
+
+        assertEquals(List.of(PLAYER), cache.trackedBefore(System.currentTimeMillis() + 1L));
+        assertEquals(List.of(), cache.trackedBefore(0L));
+    }
+
+    /**
+     * Creates a cache with the player's inbox loaded
+     *
+     * @param maxMailsPerPlayer the number of newest mails kept per player
+     * @param ids the mail IDs in inbox order
+     * @return the cache
+     */
+    private static InboxCache loaded(int maxMailsPerPlayer, String... ids) {
+        InboxCache cache = new InboxCache(maxMailsPerPlayer, BUDGET, 0L);
+        cache.track(PLAYER);
+        assertTrue(cache.install(cache.beginLoad(PLAYER), headers(ids), ids.length));
+        return cache;
+    }
+
+    /**
+     * Creates unread headers in inbox order, 100 milliseconds apart
+     *
+     * @param ids the mail IDs, newest first
+     * @return the headers
+     */
+    private static List<MailHeader> headers(String... ids) {
+        List<MailHeader> mails = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            mails.add(mail(ids[i], 100L * (ids.length - i)));
+        }
+        return mails;
+    }
+
+    /**
+     * Creates an unread header for the player
+     *
+     * @param id the mail ID
+     * @param timestamp the creation timestamp
+     * @return the header
+     */
+    private static MailHeader mail(String id, long timestamp) {
+        return new MailHeader(id, UUID.randomUUID(), "Sender", PLAYER, "Recipient",
+                "Hello", timestamp, false, false, 0);
+    }
+
+    /**
+     * Retrieves the mail IDs of a page
+     *
+     * @param page the page
+     * @return the IDs in page order
+     */
+    private static List<String> ids(InboxPage page) {
+        return page.mails().stream().map(MailHeader::getId).toList();
+    }
+}
@@ -0,0 +1,176 @@
+package dev.oumaimaa.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the attachment compression layer
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class AttachmentCompressorTest {
+
+    private static final byte[] NBT = ("{id:\"minecraft:diamond_sword\",count:1,components:{enchantments:"
+            + "{levels:{sharpness:5,unbreaking:3,mending:1}},custom_name:'\"Kawaii Blade\"'}}")
+            .repeat(4).getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] DICTIONARY = ("components:{enchantments:{levels:{sharpness:5,unbreaking:3,"
+            + "mending:1}},custom_name:minecraft:diamond_sword").getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void deflateRoundTripsToTheSameNbt() throws IOException {
+        AttachmentCompressor compressor = new AttachmentCompressor(
+                AttachmentCompressor.Mode.DEFLATE, Map.of(), null, id -> null);
+
+        byte[] stored = compressor.compress(gzip(NBT));
+
+        assertEquals(AttachmentCompressor.MAGIC, stored[0]);
+        assertEquals(AttachmentCompressor.CODEC_DEFLATE, stored[1]);
+        assertArrayEquals(NBT, gunzip(compressor.decompress(stored)));
+        assertArrayEquals(NBT, compressor.decompressToNbt(stored));
+    }
+
+    @Test
+    void dictionaryRoundTripsToTheSameNbt() throws IOException {
+        AttachmentCompressor compressor = new AttachmentCompressor(
+                AttachmentCompressor.Mode.DICTIONARY, Map.of(), DICTIONARY, id -> null);
+
+        byte[] stored = compressor.compress(gzip(NBT));
+
+        assertEquals(AttachmentCompressor.CODEC_DEFLATE_DICTIONARY, stored[1]);
+        assertArrayEquals(NBT, compressor.decompressToNbt(stored));
+    }
+
+    @Test
+    void unknownDictionaryIsLoadedOnceAndCached() throws IOException {
+        byte[] stored = new AttachmentCompressor(AttachmentCompressor.Mode.DICTIONARY, Map.of(), DICTIONARY, id -> null)
+                .compress(gzip(NBT));
+
+        AtomicInteger loads = new AtomicInteger();
+        AttachmentCompressor reader = new AttachmentCompressor(AttachmentCompressor.Mode.DEFLATE, Map.of(), null, id -> {
+            loads.incrementAndGet();
+            return id == AttachmentCompressor.dictionaryId(DICTIONARY) ? DICTIONARY : null;
+        });
+
+        assertArrayEquals(NBT, reader.decompressToNbt(stored));
+        assertArrayEquals(NBT, reader.decompressToNbt(stored));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void missingDictionaryFailsToDecompress() throws IOException {
+        byte[] stored = new AttachmentCompressor(AttachmentCompressor.Mode.DICTIONARY, Map.of(), DICTIONARY, id -> null)
+                .compress(gzip(NBT));
+        AttachmentCompressor reader = new AttachmentCompressor(
+                AttachmentCompressor.Mode.DEFLATE, Map.of(), null, id -> null);
+
+        IOException error = assertThrows(IOException.class, () -> reader.decompressToNbt(stored));
+        assertTrue(error.getMessage().contains("Unknown attachment dictionary"));
+    }
+
+    @Test
+    void legacyGzipPassesThroughUnchanged() throws IOException {
+        AttachmentCompressor compressor = new AttachmentCompressor(
+                AttachmentCompressor.Mode.DICTIONARY, Map.of(), DICTIONARY, id -> null);
+        byte[] legacy = gzip(NBT);
+
+        assertSame(legacy, compressor.decompress(legacy));
+        assertArrayEquals(NBT, compressor.decompressToNbt(legacy));
+    }
+
+    @Test
+    void noneModeStoresSerializedBytesAsTheyAre() throws IOException {
+        byte[] serialized = gzip(NBT);
+
+        assertSame(serialized, AttachmentCompressor.NONE.compress(serialized));
+    }
+
+    @Test
+    void decompressedItemIsWrappedWithoutCompressingItAgain() throws IOException {
+        AttachmentCompressor compressor = new AttachmentCompressor(
+                AttachmentCompressor.Mode.DEFLATE, Map.of(), null, id -> null);
+
+        byte[] wrapped = compressor.decompress(compressor.compress(gzip(NBT)));
+
+        assertTrue(wrapped.length > NBT.length);
+        assertArrayEquals(NBT, gunzip(wrapped));
+    }
+
+    @Test
+    void unknownModeFallsBackToDeflateWithAWarning() {
+        List<String> warnings = new ArrayList<>();
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                warnings.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        assertEquals(AttachmentCompressor.Mode.DICTIONARY, AttachmentCompressor.Mode.fromConfig(" Dictionary ", logger));
+        assertEquals(AttachmentCompressor.Mode.DEFLATE, AttachmentCompressor.Mode.fromConfig(null, logger));
+        assertTrue(warnings.isEmpty());
+
+        assertEquals(AttachmentCompressor.Mode.DEFLATE, AttachmentCompressor.Mode.fromConfig("zstd", logger));
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.getFirst().contains("zstd"));
+    }
+
+    /**
+     * Compresses data with gzip, as Paper does for serialized items
+     *
+     * @param data the data to compress
+     * @return the gzip data
+     * @throws IOException if compression fails
+     */
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decompresses gzip data
+     *
+     * @param data the gzip data
+     * @return the decompressed bytes
+     * @throws IOException if the data is not valid gzip
+     */
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.oumaimaa.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the keyset cursors of inbox pages
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class InboxCursorTest {
+
+    private static final UUID RECIPIENT = UUID.randomUUID();
+
+    @Test
+    void olderCursorStartsAfterTheLastMailOfThePage() {
+        InboxPage page = new InboxPage(List.of(mail("c", 300L), mail("b", 200L), mail("a", 100L)), false, true);
+
+        assertEquals(new InboxCursor(100L, "a", InboxCursor.Direction.OLDER), page.olderCursor());
+    }
+
+    @Test
+    void newerCursorStartsBeforeTheFirstMailOfThePage() {
+        InboxPage page = new InboxPage(List.of(mail("c", 300L), mail("b", 200L), mail("a", 100L)), true, false);
+
+        assertEquals(new InboxCursor(300L, "c", InboxCursor.Direction.NEWER), page.newerCursor());
+    }
+
+    @Test
+    void emptyPageHasNoCursors() {
+        InboxPage page = InboxPage.empty();
+
+        assertNull(page.olderCursor());
+        assertNull(page.newerCursor());
+    }
+
+    @Test
+    void mailIdBreaksTimestampTies() {
+        InboxCursor first = InboxCursor.olderThan(mail("a", 100L));
+        InboxCursor second = InboxCursor.olderThan(mail("b", 100L));
+
+        assertNotEquals(first, second);
+        assertEquals("b", second.mailId());
+    }
+
+    @Test
+    void pageKeepsItsOwnCopyOfTheMail() {
+        List<MailHeader> mails = new ArrayList<>(List.of(mail("a", 100L)));
+        InboxPage page = new InboxPage(mails, false, false);
+        mails.clear();
+
+        assertEquals(1, page.mails().size());
+    }
+
+    /**
+     * Creates a mail header with the given identity
+     *
+     * @param id the mail ID
+     * @param timestamp the creation timestamp
+     * @return the header
+     */
+    private static MailHeader mail(String id, long timestamp) {
+        return new MailHeader(id, UUID.randomUUID(), "Sender", RECIPIENT, "Recipient",
+                "Hello", timestamp, false, false, 0);
+    }
+}
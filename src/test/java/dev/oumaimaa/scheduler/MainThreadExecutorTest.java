@@ -0,0 +1,177 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the per-player lanes of the main thread executor
+ *
+ * @author oumaimaa
+ * @version 1.0.0
+ */
+class MainThreadExecutorTest {
+
+    private static final long BUDGET_MILLIS = 1_000L;
+
+    @Test
+    void lanesTakeTurnsRunningOneTaskEach() {
+        MainThreadExecutor executor = new MainThreadExecutor(plugin(), BUDGET_MILLIS, Integer.MAX_VALUE);
+        Executor alice = executor.forPlayer(UUID.randomUUID());
+        Executor bob = executor.forPlayer(UUID.randomUUID());
+        List<String> ran = new ArrayList<>();
+
+        alice.execute(() -> ran.add("a1"));
+        alice.execute(() -> ran.add("a2"));
+        alice.execute(() -> ran.add("a3"));
+        bob.execute(() -> ran.add("b1"));
+        bob.execute(() -> ran.add("b2"));
+        executor.execute(() -> ran.add("s1"));
+        executor.drain();
+
+        assertEquals(List.of("a1", "b1", "s1", "a2", "b2", "a3"), ran);
+        assertEquals(0, executor.getBacklog());
+        assertEquals(0, executor.getWaitingLanes());
+    }
+
+    @Test
+    void tasksSubmittedWhileDrainingRunInTheirLaneOrder() {
+        MainThreadExecutor executor = new MainThreadExecutor(plugin(), BUDGET_MILLIS, Integer.MAX_VALUE);
+        Executor alice = executor.forPlayer(UUID.randomUUID());
+        Executor bob = executor.forPlayer(UUID.randomUUID());
+        List<String> ran = new ArrayList<>();
+
+        alice.execute(() -> {
+            ran.add("a1");
+            alice.execute(() -> ran.add("a2"));
+        });
+        bob.execute(() -> ran.add("b1"));
+        executor.drain();
+
+        assertEquals(List.of("a1", "b1", "a2"), ran);
+    }
+
+    @Test
+    void laneRetiredWhileTasksAreSubmittedKeepsTheirOrder() throws InterruptedException {
+        MainThreadExecutor executor = new MainThreadExecutor(plugin(), BUDGET_MILLIS, Integer.MAX_VALUE);
+        Executor alice = executor.forPlayer(UUID.randomUUID());
+        List<int[]> ran = new ArrayList<>();
+        int submitters = 2;
+        int count = 100_000;
+
+        // Draining concurrently keeps emptying and retiring the lane while new tasks arrive
+        List<Thread> threads = new ArrayList<>();
+        for (int s = 0; s < submitters; s++) {
+            int submitter = s;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    int[] task = {submitter, i};
+                    alice.execute(() -> ran.add(task));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                executor.drain();
+            }
+            thread.join();
+        }
+        executor.drain();
+
+        assertEquals(submitters * count, ran.size());
+        int[] next = new int[submitters];
+        for (int[] task : ran) {
+            assertEquals(next[task[0]]++, task[1], "tasks of submitter " + task[0] + " ran out of order");
+        }
+        assertEquals(0, executor.getWaitingLanes());
+    }
+
+    @Test
+    void slowTaskLeavesTheRestForTheNextTick() {
+        MainThreadExecutor executor = new MainThreadExecutor(plugin(), 1L, Integer.MAX_VALUE);
+        Executor alice = executor.forPlayer(UUID.randomUUID());
+        List<String> ran = new ArrayList<>();
+
+        alice.execute(() -> {
+            ran.add("a1");
+            sleep(5L);
+        });
+        alice.execute(() -> ran.add("a2"));
+
+        executor.drain();
+        assertEquals(List.of("a1"), ran);
+        assertEquals(1, executor.getBacklog());
+
+        executor.drain();
+        assertEquals(List.of("a1", "a2"), ran);
+    }
+
+    @Test
+    void failingTaskDoesNotBlockItsLane() {
+        MainThreadExecutor executor = new MainThreadExecutor(plugin(), BUDGET_MILLIS, Integer.MAX_VALUE);
+        Executor alice = executor.forPlayer(UUID.randomUUID());
+        List<String> ran = new ArrayList<>();
+
+        alice.execute(() -> {
+            throw new IllegalStateException("Expected by the test");
+        });
+        alice.execute(() -> ran.add("a2"));
+        executor.drain();
+
+        assertEquals(List.of("a2"), ran);
+    }
+
+    @Test
+    void shutdownRunsQueuedTasksAndRejectsNewOnes() {
+        MainThreadExecutor executor = new MainThreadExecutor(plugin(), BUDGET_MILLIS, Integer.MAX_VALUE);
+        Executor alice = executor.forPlayer(UUID.randomUUID());
+        List<String> ran = new ArrayList<>();
+
+        alice.execute(() -> ran.add("a1"));
+        executor.execute(() -> ran.add("s1"));
+        executor.shutdown();
+
+        assertEquals(List.of("a1", "s1"), ran);
+        assertThrows(RejectedExecutionException.class, () -> alice.execute(() -> ran.add("a2")));
+    }
+
+    /**
+     * Creates a plugin that only provides a logger
+     *
+     * @return the plugin
+     */
+    private static Plugin plugin() {
+        Logger logger = Logger.getLogger(MainThreadExecutorTest.class.getName());
+        return (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[]{Plugin.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getLogger" -> logger;
+                    case "toString" -> "MainThreadExecutorTest";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Sleeps without throwing
+     *
+     * @param millis the time to sleep in milliseconds
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}